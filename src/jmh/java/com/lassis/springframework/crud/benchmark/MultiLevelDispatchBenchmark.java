@@ -0,0 +1,223 @@
+package com.lassis.springframework.crud.benchmark;
+
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.service.BeforeSave;
+import com.lassis.springframework.crud.service.CrudService;
+import com.lassis.springframework.crud.service.GenericUpdateValuesSetter;
+import com.lassis.springframework.crud.service.IdChain;
+import com.lassis.springframework.crud.service.MultiLevelCrudService;
+import com.lassis.springframework.crud.service.ParentChildResolver;
+import com.lassis.springframework.crud.service.SimpleCrudService;
+import lombok.Getter;
+import lombok.Setter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.PagingAndSortingRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatch of a request through the {@link MultiLevelCrudService} chain of an endpoint nested {@code depth} levels
+ * deep, over in-memory repositories.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MultiLevelDispatchBenchmark {
+    private static final long ID = 1L;
+
+    @Param({"1", "2", "3", "4", "5"})
+    private int depth;
+
+    private CrudService<Node, Long> service;
+    private IdChain<Long> chain;
+    private Pageable pageable;
+    private Node update;
+
+    @Setup
+    public void setup() {
+        InMemoryRepository repository = new InMemoryRepository();
+        Node stored = new Node();
+        stored.setId(ID);
+        stored.setName("stored");
+        repository.save(stored);
+
+        CrudService<Node, Long> chained = new SimpleCrudService<>(repository, BeforeSave.none(), new GenericUpdateValuesSetter<>());
+        Long[] ids = new Long[depth];
+        for (int level = depth; level > 0; level--) {
+            chained = new MultiLevelCrudService<>(chained, new InMemoryResolver(repository));
+            ids[level - 1] = ID;
+        }
+
+        service = chained;
+        chain = IdChain.wrap(ids);
+        pageable = PageRequest.of(0, 25, Sort.by("id"));
+
+        update = new Node();
+        update.setId(ID);
+        update.setName("updated");
+    }
+
+    @Benchmark
+    public Node get() {
+        return service.get(chain, ID);
+    }
+
+    @Benchmark
+    public Slice<Node> list() {
+        return service.all(chain, pageable);
+    }
+
+    @Benchmark
+    public Node update() {
+        return service.update(chain, ID, update);
+    }
+
+    @Getter
+    @Setter
+    public static class Node implements WithId<Long> {
+        private Long id;
+        private String name;
+        private Node parent;
+    }
+
+    private static final class InMemoryResolver implements ParentChildResolver<Node, Node, Long> {
+        private final InMemoryRepository repository;
+
+        private InMemoryResolver(InMemoryRepository repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public void setParent(Node parent, Node child) {
+            child.setParent(parent);
+        }
+
+        @Override
+        public Optional<Node> findParentById(Long parentI) {
+            return repository.findById(parentI);
+        }
+
+        @Override
+        public Page<Node> findAllByParentId(Long parentI, Pageable pageable) {
+            return repository.findAll(pageable);
+        }
+
+        @Override
+        public boolean existsByParentIdAndId(Long parentI, Long childI) {
+            return repository.existsById(parentI) && repository.existsById(childI);
+        }
+
+        @Override
+        public boolean existsByParentId(Long parentI) {
+            return repository.existsById(parentI);
+        }
+    }
+
+    private static final class InMemoryRepository implements PagingAndSortingRepository<Node, Long> {
+        private final Map<Long, Node> nodes = new HashMap<>();
+
+        @Override
+        public Iterable<Node> findAll(Sort sort) {
+            return findAll();
+        }
+
+        @Override
+        public Page<Node> findAll(Pageable pageable) {
+            return new PageImpl<>(findAll(), pageable, nodes.size());
+        }
+
+        @Override
+        public <S extends Node> S save(S entity) {
+            nodes.put(entity.getId(), entity);
+            return entity;
+        }
+
+        @Override
+        public <S extends Node> Iterable<S> saveAll(Iterable<S> entities) {
+            entities.forEach(this::save);
+            return entities;
+        }
+
+        @Override
+        public Optional<Node> findById(Long id) {
+            return Optional.ofNullable(nodes.get(id));
+        }
+
+        @Override
+        public boolean existsById(Long id) {
+            return nodes.containsKey(id);
+        }
+
+        @Override
+        public List<Node> findAll() {
+            return new ArrayList<>(nodes.values());
+        }
+
+        @Override
+        public Iterable<Node> findAllById(Iterable<Long> ids) {
+            List<Node> found = new ArrayList<>();
+            for (Long id : ids) {
+                Node node = nodes.get(id);
+                if (Objects.nonNull(node)) {
+                    found.add(node);
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public long count() {
+            return nodes.size();
+        }
+
+        @Override
+        public void deleteById(Long id) {
+            nodes.remove(id);
+        }
+
+        @Override
+        public void delete(Node entity) {
+            nodes.remove(entity.getId());
+        }
+
+        @Override
+        public void deleteAllById(Iterable<? extends Long> ids) {
+            ids.forEach(nodes::remove);
+        }
+
+        @Override
+        public void deleteAll(Iterable<? extends Node> entities) {
+            entities.forEach(this::delete);
+        }
+
+        @Override
+        public void deleteAll() {
+            nodes.clear();
+        }
+    }
+}
@@ -0,0 +1,413 @@
+package com.lassis.springframework.crud.benchmark;
+
+import com.lassis.springframework.crud.configuration.CrudServiceConfig;
+import com.lassis.springframework.crud.configuration.EnableCrud;
+import com.lassis.springframework.crud.repository.ProductDetailLanguageRepository;
+import com.lassis.springframework.crud.repository.ProductDetailRepository;
+import com.lassis.springframework.crud.repository.ProductRepository;
+import com.lassis.springframework.crud.service.Language;
+import com.lassis.springframework.crud.service.Product;
+import com.lassis.springframework.crud.service.ProductDetail;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end throughput, latency percentiles and SQL statements per request of every operation of the test endpoints,
+ * served by an embedded server over an in-memory H2 database.
+ * <p>
+ * Run with: {@code mvn -Pjmh test-compile exec:exec@throughput -Dthroughput.args="--threads=16 --seconds=30"}, the
+ * other options are {@code products}, {@code details}, {@code languages} and {@code warmup}.
+ */
+public final class ThroughputHarness {
+    private static final String[] LEVELS = {"products", "details", "languages"};
+    private static final String[] OPERATIONS = {"GET", "LIST", "POST", "PUT", "DELETE"};
+
+    private final Map<String, Integer> options;
+    private final String baseUrl;
+    private final Statistics statistics;
+    private final Seed seed;
+    private final List<Queue<String>> created = new ArrayList<>();
+
+    private ThroughputHarness(Map<String, Integer> options, String baseUrl, Statistics statistics, Seed seed) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.statistics = statistics;
+        this.seed = seed;
+        for (int level = 0; level < LEVELS.length; level++) {
+            created.add(new ConcurrentLinkedQueue<>());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, Integer> options = options(args);
+        // keeps a pooled connection per client thread
+        System.setProperty("http.maxConnections", String.valueOf(options.get("threads")));
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(HarnessApplication.class,
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:throughput;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.properties.hibernate.generate_statistics=true",
+                "--logging.level.root=warn",
+                "--logging.level.org.hibernate.SQL=warn",
+                "--logging.level.com.lassis=warn")) {
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            System.out.printf("seeding %d products, %d details per product, %d languages per detail%n",
+                    options.get("products"), options.get("details"), options.get("languages"));
+            Seed seed = Seed.create(context, options.get("products"), options.get("details"), options.get("languages"));
+
+            new ThroughputHarness(options, "http://localhost:" + port + "/api", statistics, seed).run();
+        }
+    }
+
+    private void run() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(options.get("threads"));
+        try {
+            System.out.printf("warming up for %ds%n", options.get("warmup"));
+            for (int level = 0; level < LEVELS.length; level++) {
+                drive(clients, level, "GET", options.get("warmup") / LEVELS.length);
+                drive(clients, level, "LIST", options.get("warmup") / LEVELS.length);
+            }
+
+            System.out.printf("%n%-10s %-7s %9s %10s %9s %9s %9s %8s %7s%n",
+                    "level", "op", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "sql/req", "errors");
+            for (int level = 0; level < LEVELS.length; level++) {
+                for (String operation : OPERATIONS) {
+                    print(level, operation, measure(clients, level, operation));
+                }
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private Result measure(ExecutorService clients, int level, String operation) throws Exception {
+        statistics.clear();
+        long start = System.nanoTime();
+        List<Recorder> recorders = drive(clients, level, operation, options.get("seconds"));
+        long elapsed = System.nanoTime() - start;
+
+        return Result.of(recorders, elapsed, statistics.getPrepareStatementCount());
+    }
+
+    private List<Recorder> drive(ExecutorService clients, int level, String operation, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(seconds, 1));
+
+        List<Future<Recorder>> futures = new ArrayList<>();
+        for (int i = 0; i < options.get("threads"); i++) {
+            futures.add(clients.submit(() -> {
+                Recorder recorder = new Recorder();
+                while (System.nanoTime() < deadline && send(level, operation, recorder)) {
+                }
+                return recorder;
+            }));
+        }
+
+        List<Recorder> recorders = new ArrayList<>();
+        for (Future<Recorder> future : futures) {
+            recorders.add(future.get());
+        }
+        return recorders;
+    }
+
+    private boolean send(int level, String operation, Recorder recorder) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Seed.Target target = seed.target(level, random);
+
+        switch (operation) {
+            case "GET":
+                return exchange("GET", target.itemPath(), null, level, recorder);
+            case "LIST":
+                return exchange("GET", target.collectionPath() + "?size=25", null, level, recorder);
+            case "POST":
+                return exchange("POST", target.collectionPath(), target.createBody(random), level, recorder);
+            case "PUT":
+                return exchange("PUT", target.itemPath(), target.updateBody(random), level, recorder);
+            default:
+                String path = created.get(level).poll();
+                return Objects.nonNull(path) && exchange("DELETE", path, null, level, recorder);
+        }
+    }
+
+    private boolean exchange(String method, String path, String body, int level, Recorder recorder) throws IOException {
+        long start = System.nanoTime();
+
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setRequestProperty("Accept", "application/json");
+        if (Objects.nonNull(body)) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        int status = connection.getResponseCode();
+        // the whole body is read so the connection goes back to the pool
+        try (InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream()) {
+            if (Objects.nonNull(in)) {
+                byte[] buffer = new byte[8192];
+                while (in.read(buffer) >= 0) {
+                    // discarded
+                }
+            }
+        }
+
+        recorder.record(System.nanoTime() - start, status < 400);
+
+        String location = connection.getHeaderField("Location");
+        if ("POST".equals(method) && status == 201 && Objects.nonNull(location)) {
+            created.get(level).add(location.substring(location.indexOf("/api/") + "/api".length()));
+        }
+        return true;
+    }
+
+    private static void print(int level, String operation, Result result) {
+        System.out.printf("%-10s %-7s %9d %10.1f %9.2f %9.2f %9.2f %8.2f %7d%n",
+                LEVELS[level], operation, result.requests, result.throughput,
+                result.p50, result.p99, result.p999, result.statementsPerRequest, result.errors);
+    }
+
+    private static Map<String, Integer> options(String[] args) {
+        Map<String, Integer> options = new HashMap<>();
+        options.put("products", 1000);
+        options.put("details", 5);
+        options.put("languages", 3);
+        options.put("threads", 8);
+        options.put("warmup", 10);
+        options.put("seconds", 15);
+
+        for (String arg : args) {
+            String[] pair = arg.replaceFirst("^--", "").split("=", 2);
+            if (pair.length != 2 || !options.containsKey(pair[0])) {
+                throw new IllegalArgumentException("unknown option " + arg + ", the options are " + options.keySet());
+            }
+            options.put(pair[0], Integer.parseInt(pair[1]));
+        }
+        return options;
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EnableCrud
+    @EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+    @EntityScan(basePackageClasses = Product.class)
+    @Import(CrudServiceConfig.class)
+    static class HarnessApplication {
+    }
+
+    private static final class Seed {
+        private final long[] products;
+        private final long[][] details;
+        private final long[][] languages;
+
+        private Seed(long[] products, long[][] details, long[][] languages) {
+            this.products = products;
+            this.details = details;
+            this.languages = languages;
+        }
+
+        static Seed create(ConfigurableApplicationContext context, int productCount, int detailCount, int languageCount) {
+            ProductRepository productRepository = context.getBean(ProductRepository.class);
+            ProductDetailRepository detailRepository = context.getBean(ProductDetailRepository.class);
+            ProductDetailLanguageRepository languageRepository = context.getBean(ProductDetailLanguageRepository.class);
+
+            List<Product> products = new ArrayList<>(productCount);
+            for (int p = 0; p < productCount; p++) {
+                Product product = new Product();
+                product.setName("product-" + p);
+                product.setDescription("description of product " + p);
+                products.add(product);
+            }
+            productRepository.saveAll(products);
+
+            List<ProductDetail> details = new ArrayList<>(productCount * detailCount);
+            for (Product product : products) {
+                for (int d = 0; d < detailCount; d++) {
+                    ProductDetail detail = new ProductDetail();
+                    detail.setDetail("detail-" + d);
+                    detail.setProduct(product);
+                    details.add(detail);
+                }
+            }
+            detailRepository.saveAll(details);
+
+            List<Language> languages = new ArrayList<>(details.size() * languageCount);
+            for (ProductDetail detail : details) {
+                for (int l = 0; l < languageCount; l++) {
+                    Language language = new Language();
+                    language.setProductDetail(detail);
+                    languages.add(language);
+                }
+            }
+            languageRepository.saveAll(languages);
+
+            long[] productIds = products.stream().mapToLong(Product::getId).toArray();
+            long[][] detailIds = details.stream()
+                    .map(d -> new long[]{d.getProduct().getId(), d.getId()})
+                    .toArray(long[][]::new);
+            long[][] languageIds = languages.stream()
+                    .map(l -> new long[]{l.getProductDetail().getProduct().getId(), l.getProductDetail().getId(), l.getId(), l.getVersion()})
+                    .toArray(long[][]::new);
+            return new Seed(productIds, detailIds, languageIds);
+        }
+
+        Target target(int level, ThreadLocalRandom random) {
+            switch (level) {
+                case 0:
+                    return new Target(level, new long[]{products[random.nextInt(products.length)]});
+                case 1:
+                    return new Target(level, details[random.nextInt(details.length)]);
+                default:
+                    return new Target(level, languages[random.nextInt(languages.length)]);
+            }
+        }
+
+        /**
+         * an entity of a level with the ids of its ancestors
+         */
+        private static final class Target {
+            private final int level;
+            private final long[] ids;
+
+            private Target(int level, long[] ids) {
+                this.level = level;
+                this.ids = ids;
+            }
+
+            String collectionPath() {
+                StringBuilder path = new StringBuilder();
+                for (int i = 0; i < level; i++) {
+                    path.append('/').append(LEVELS[i]).append('/').append(ids[i]);
+                }
+                return path.append('/').append(LEVELS[level]).toString();
+            }
+
+            String itemPath() {
+                return collectionPath() + "/" + ids[level];
+            }
+
+            String createBody(ThreadLocalRandom random) {
+                switch (level) {
+                    case 0:
+                        return "{\"name\":\"created-" + random.nextInt() + "\",\"description\":\"created\"}";
+                    case 1:
+                        return "{\"detail\":\"created-" + random.nextInt() + "\"}";
+                    default:
+                        return "{}";
+                }
+            }
+
+            String updateBody(ThreadLocalRandom random) {
+                switch (level) {
+                    case 0:
+                        return "{\"id\":" + ids[0] + ",\"name\":\"updated-" + random.nextInt() + "\",\"description\":\"updated\"}";
+                    case 1:
+                        return "{\"id\":" + ids[1] + ",\"detail\":\"updated-" + random.nextInt() + "\",\"product\":{\"id\":" + ids[0] + "}}";
+                    default:
+                        return "{\"id\":" + ids[2] + ",\"version\":" + ids[3] + ",\"productDetail\":{\"id\":" + ids[1] + "}}";
+                }
+            }
+        }
+    }
+
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+
+        void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+    }
+
+    private static final class Result {
+        private final int requests;
+        private final int errors;
+        private final double throughput;
+        private final double p50;
+        private final double p99;
+        private final double p999;
+        private final double statementsPerRequest;
+
+        private Result(int requests, int errors, double throughput, double p50, double p99, double p999, double statementsPerRequest) {
+            this.requests = requests;
+            this.errors = errors;
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.statementsPerRequest = statementsPerRequest;
+        }
+
+        static Result of(List<Recorder> recorders, long elapsedNanos, long statements) {
+            int requests = recorders.stream().mapToInt(r -> r.count).sum();
+            int errors = recorders.stream().mapToInt(r -> r.errors).sum();
+
+            long[] latencies = new long[requests];
+            int offset = 0;
+            for (Recorder recorder : recorders) {
+                System.arraycopy(recorder.latencies, 0, latencies, offset, recorder.count);
+                offset += recorder.count;
+            }
+            Arrays.sort(latencies);
+
+            double seconds = elapsedNanos / 1e9;
+            return new Result(requests, errors,
+                    requests / seconds,
+                    percentile(latencies, 0.50),
+                    percentile(latencies, 0.99),
+                    percentile(latencies, 0.999),
+                    requests == 0 ? 0 : (double) statements / requests);
+        }
+
+        /**
+         * @return the latency in milliseconds
+         */
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.lassis.springframework.crud.benchmark;
+
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.service.GenericUpdateValuesSetter;
+import lombok.Getter;
+import lombok.Setter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.BeanUtils;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Update of a wide entity by {@link BeanUtils#copyProperties} and by the {@link GenericUpdateValuesSetter} modes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UpdateValuesSetterBenchmark {
+
+    private final GenericUpdateValuesSetter<WideEntity> copyAll = new GenericUpdateValuesSetter<>();
+    private final GenericUpdateValuesSetter<WideEntity> skipNulls = new GenericUpdateValuesSetter<>(true, false);
+    private final GenericUpdateValuesSetter<WideEntity> onlyChanged = new GenericUpdateValuesSetter<>(false, true);
+
+    private WideEntity nieuwe;
+    private WideEntity old;
+
+    @Setup
+    public void setup() {
+        nieuwe = WideEntity.filled(1);
+        old = WideEntity.filled(2);
+    }
+
+    @Benchmark
+    public WideEntity beanUtils() {
+        BeanUtils.copyProperties(nieuwe, old, "id");
+        return old;
+    }
+
+    @Benchmark
+    public WideEntity copyAll() {
+        copyAll.update(old, nieuwe);
+        return old;
+    }
+
+    @Benchmark
+    public WideEntity skipNulls() {
+        skipNulls.update(old, nieuwe);
+        return old;
+    }
+
+    /**
+     * the entity is updated by the first call, so the steady state measures a PUT that changes nothing
+     */
+    @Benchmark
+    public WideEntity onlyChanged() {
+        onlyChanged.update(old, nieuwe);
+        return old;
+    }
+
+    @Getter
+    @Setter
+    public static class WideEntity implements WithId<Long> {
+        private Long id;
+        private String text1;
+        private String text2;
+        private String text3;
+        private String text4;
+        private String text5;
+        private String text6;
+        private int number1;
+        private int number2;
+        private long number3;
+        private long number4;
+        private Integer boxed1;
+        private Long boxed2;
+        private boolean flag1;
+        private Boolean flag2;
+        private double ratio;
+        private BigDecimal amount;
+        private LocalDate date;
+        private Instant created;
+        private Instant updated;
+
+        static WideEntity filled(long seed) {
+            WideEntity entity = new WideEntity();
+            entity.setId(seed);
+            entity.setText1("text1-" + seed);
+            entity.setText2("text2-" + seed);
+            entity.setText3("text3-" + seed);
+            entity.setText4("text4-" + seed);
+            entity.setText5(null);
+            entity.setText6("text6-" + seed);
+            entity.setNumber1((int) seed);
+            entity.setNumber2((int) seed * 2);
+            entity.setNumber3(seed * 3);
+            entity.setNumber4(seed * 4);
+            entity.setBoxed1((int) seed * 5);
+            entity.setBoxed2(seed * 6);
+            entity.setFlag1(seed % 2 == 0);
+            entity.setFlag2(seed % 2 == 1);
+            entity.setRatio(seed / 10.0);
+            entity.setAmount(BigDecimal.valueOf(seed * 100));
+            entity.setDate(LocalDate.ofEpochDay(seed));
+            entity.setCreated(Instant.ofEpochSecond(seed));
+            entity.setUpdated(null);
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.lassis.springframework.crud.api.SimplePaginationConverter;
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.exception.ValidationException;
+import com.lassis.springframework.crud.pojo.DtoType;
+import com.lassis.springframework.crud.pojo.Pagination;
+import com.lassis.springframework.crud.service.DtoConverter;
+import com.lassis.springframework.crud.service.IdChain;
+import lombok.Getter;
+import lombok.Setter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerRequest;
+
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import javax.validation.constraints.NotBlank;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work done by the handlers around the service call: reading the path ids and page tokens, and validating the body.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestPathBenchmark {
+
+    @Param({"1", "3", "5"})
+    private int level;
+
+    private ServerRequest request;
+    private IdChainReader idChainReader;
+    private SimplePaginationConverter paginationConverter;
+    private Slice<WithId<Serializable>> slice;
+    private GenericApplicationContext context;
+    private CRUDPathProperties convertedEndpoint;
+    private CRUDPathProperties mappedEndpoint;
+    private ValidatorFactory validatorFactory;
+    private BodyValidator constrainedValidator;
+    private BodyValidator unconstrainedValidator;
+    private ItemDto constrainedBody;
+    private PlainDto unconstrainedBody;
+
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setup() {
+        Map<String, String> variables = new HashMap<>();
+        for (int i = 0; i <= level; i++) {
+            variables.put("id" + i, String.valueOf(1000L + i));
+        }
+
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", "/api/items");
+        servletRequest.setAttribute(RouterFunctions.URI_TEMPLATE_VARIABLES_ATTRIBUTE, variables);
+        servletRequest.setParameter("page", "P3S25");
+        request = ServerRequest.create(servletRequest, Collections.emptyList());
+
+        IdMapper<Long> idMapper = Long::valueOf;
+        idChainReader = IdChainReader.of((IdMapper) idMapper, level);
+
+        paginationConverter = new SimplePaginationConverter();
+        slice = new SliceImpl<>(Collections.emptyList(), PageRequest.of(3, 25, Sort.by("id")), true);
+
+        context = new GenericApplicationContext();
+        context.registerBean(ItemDtoConverter.class);
+        context.refresh();
+
+        convertedEndpoint = new CRUDPathProperties();
+        convertedEndpoint.setEntityClass(Item.class);
+        convertedEndpoint.setDtoClass(ItemDto.class);
+
+        mappedEndpoint = new CRUDPathProperties();
+        mappedEndpoint.setEntityClass(Item.class);
+        mappedEndpoint.setDtoClass(PlainDto.class);
+
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        constrainedValidator = BodyValidator.of(validatorFactory.getValidator(), ItemDto.class, false, nanos -> {});
+        unconstrainedValidator = BodyValidator.of(validatorFactory.getValidator(), PlainDto.class, false, nanos -> {});
+
+        constrainedBody = new ItemDto();
+        constrainedBody.setName("item");
+        unconstrainedBody = new PlainDto();
+        unconstrainedBody.setName("item");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public IdChain<Serializable> idChain() {
+        return idChainReader.chain(request);
+    }
+
+    @Benchmark
+    public Pageable pageable() {
+        return paginationConverter.getPageable(request, 25);
+    }
+
+    @Benchmark
+    public Pagination pagination() {
+        return paginationConverter.toPagination(slice);
+    }
+
+    @Benchmark
+    public BodyValidator validateConstrained() throws ValidationException {
+        constrainedValidator.validate(constrainedBody);
+        return constrainedValidator;
+    }
+
+    @Benchmark
+    public BodyValidator validateUnconstrained() throws ValidationException {
+        unconstrainedValidator.validate(unconstrainedBody);
+        return unconstrainedValidator;
+    }
+
+    /**
+     * done once per endpoint and dto type when the routes are built
+     */
+    @Benchmark
+    public DtoConverter<Serializable, Serializable, WithId<Serializable>> resolveDtoConverterBean() {
+        return CRUDAPIConfiguration.getDtoConverter(context, convertedEndpoint, DtoType.POST, DtoType.RESULT);
+    }
+
+    @Benchmark
+    public DtoConverter<Serializable, Serializable, WithId<Serializable>> resolveMappingDtoConverter() {
+        return CRUDAPIConfiguration.getDtoConverter(context, mappedEndpoint, DtoType.POST, DtoType.RESULT);
+    }
+
+    @Getter
+    @Setter
+    public static class Item implements WithId<Long> {
+        private Long id;
+        private String name;
+    }
+
+    @Getter
+    @Setter
+    public static class ItemDto implements Serializable {
+        @NotBlank
+        private String name;
+    }
+
+    @Getter
+    @Setter
+    public static class PlainDto implements Serializable {
+        private String name;
+    }
+
+    public static class ItemDtoConverter implements DtoConverter<ItemDto, ItemDto, Item> {
+        @Override
+        public Item fromDto(ItemDto obj) {
+            Item item = new Item();
+            item.setName(obj.getName());
+            return item;
+        }
+
+        @Override
+        public ItemDto toDto(Item entity) {
+            ItemDto dto = new ItemDto();
+            dto.setName(entity.getName());
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.lassis.springframework.crud.api;
+
+import com.lassis.springframework.crud.configuration.IdMapper;
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.pojo.Pagination;
+import com.lassis.springframework.crud.service.KeysetPageRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.function.ServerRequest;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Pagination by the last id seen, with tokens {@code K{size}.{id}} encoded in base64 and forward navigation only.
+ */
+@RequiredArgsConstructor
+public class KeysetPaginationConverter implements PaginationConverter {
+    private static final Pattern PAGE_PATTERN = Pattern.compile("^K\\d+(\\.[A-Za-z0-9_-]+)?$");
+
+    private final IdMapper<? extends Serializable> idMapper;
+
+    @Override
+    public Pagination toPagination(Slice<? extends WithId<? extends Serializable>> pageContent) {
+        int size = pageContent.getSize();
+        String tFirst = "K" + size;
+
+        String tNext = null;
+        List<? extends WithId<? extends Serializable>> content = pageContent.getContent();
+        if (pageContent.hasNext() && !content.isEmpty()) {
+            Serializable last = content.get(content.size() - 1).getId();
+            tNext = tFirst + "." + encode(last);
+        }
+        return Pagination.of(tFirst, null, tNext);
+    }
+
+    @Override
+    public Pageable getPageable(ServerRequest req, int size) {
+        String page = req.param("page").orElseGet(() -> req.headers().firstHeader("page"));
+        return getPageable(page, req.param("size").orElse(null), size);
+    }
+
+    @Override
+    public Pageable getPageable(@Nullable String page, @Nullable String size, int defaultSize) {
+        if (Objects.isNull(page) || !PAGE_PATTERN.matcher(page).matches()) {
+            int pageSize = Objects.isNull(size) ? defaultSize : Integer.parseInt(size);
+            return KeysetPageRequest.first(pageSize);
+        }
+
+        int indexOfDot = page.indexOf('.');
+        if (indexOfDot < 0) {
+            return KeysetPageRequest.first(Integer.parseInt(page.substring(1)));
+        }
+
+        int pageSize = Integer.parseInt(page.substring(1, indexOfDot));
+        try {
+            return KeysetPageRequest.after(decode(page.substring(indexOfDot + 1)), pageSize);
+        } catch (IllegalArgumentException e) {
+            return KeysetPageRequest.first(pageSize);
+        }
+    }
+
+    private static String encode(Serializable id) {
+        byte[] bytes = String.valueOf(id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private Serializable decode(String token) {
+        byte[] bytes = Base64.getUrlDecoder().decode(token);
+        return idMapper.apply(new String(bytes, StandardCharsets.UTF_8));
+    }
+}
@@ -1,15 +1,25 @@
 package com.lassis.springframework.crud.api;
 
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.exception.UnsupportedCrudOperationException;
 import com.lassis.springframework.crud.pojo.Pagination;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
 import org.springframework.web.servlet.function.ServerRequest;
 
 import java.io.Serializable;
 
 public interface PaginationConverter {
 
-    Pagination toPagination(Page<Serializable> pageContent);
+    Pagination toPagination(Slice<? extends WithId<? extends Serializable>> pageContent);
 
     Pageable getPageable(ServerRequest req, int size);
+
+    /**
+     * reads the page from values already taken from a request, used by the routers that are not built on servlets
+     */
+    default Pageable getPageable(@Nullable String page, @Nullable String size, int defaultSize) {
+        throw new UnsupportedCrudOperationException(getClass() + " can only read pages from servlet requests");
+    }
 }
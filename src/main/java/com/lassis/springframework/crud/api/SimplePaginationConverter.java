@@ -1,10 +1,12 @@
 package com.lassis.springframework.crud.api;
 
+import com.lassis.springframework.crud.entity.WithId;
 import com.lassis.springframework.crud.pojo.Pagination;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
 import org.springframework.web.servlet.function.ServerRequest;
 
 import java.io.Serializable;
@@ -15,7 +17,7 @@ public class SimplePaginationConverter implements PaginationConverter {
     private static final Pattern PAGE_PATTERN = Pattern.compile("^[PF]\\d+S\\d+$");
 
     @Override
-    public Pagination toPagination(Page<Serializable> pageContent) {
+    public Pagination toPagination(Slice<? extends WithId<? extends Serializable>> pageContent) {
         Pageable pageable = pageContent.getPageable();
         Pageable first = pageable.first();
         String tFirst = "F" + first.getPageNumber() + "S" + first.getPageSize();
@@ -40,8 +42,13 @@ public class SimplePaginationConverter implements PaginationConverter {
     @Override
     public Pageable getPageable(ServerRequest req, int size) {
         String page = req.param("page").orElseGet(() -> req.headers().firstHeader("page"));
+        return getPageable(page, req.param("size").orElse(null), size);
+    }
+
+    @Override
+    public Pageable getPageable(@Nullable String page, @Nullable String size, int defaultSize) {
         if (Objects.isNull(page) || !PAGE_PATTERN.matcher(page).matches()) {
-            Integer pageSize = req.param("size").map(Integer::parseInt).orElse(size);
+            int pageSize = Objects.isNull(size) ? defaultSize : Integer.parseInt(size);
             return PageRequest.of(0, pageSize, Sort.by("id"));
         }
 
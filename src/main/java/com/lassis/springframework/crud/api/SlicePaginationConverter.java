@@ -0,0 +1,43 @@
+package com.lassis.springframework.crud.api;
+
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.pojo.Pagination;
+import com.lassis.springframework.crud.service.SlicePageRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.function.ServerRequest;
+
+import java.io.Serializable;
+
+/**
+ * Keeps the tokens of another converter but requests {@link SlicePageRequest}s, so the elements are not counted.
+ */
+@RequiredArgsConstructor
+public class SlicePaginationConverter implements PaginationConverter {
+    private final PaginationConverter delegateTo;
+
+    @Override
+    public Pagination toPagination(Slice<? extends WithId<? extends Serializable>> pageContent) {
+        Pagination pagination = delegateTo.toPagination(pageContent);
+        return Pagination.of(pagination.getFirst(), null, pagination.getNext());
+    }
+
+    @Override
+    public Pageable getPageable(ServerRequest req, int size) {
+        return toSlice(delegateTo.getPageable(req, size));
+    }
+
+    @Override
+    public Pageable getPageable(@Nullable String page, @Nullable String size, int defaultSize) {
+        return toSlice(delegateTo.getPageable(page, size, defaultSize));
+    }
+
+    private static Pageable toSlice(Pageable pageable) {
+        if (pageable.isUnpaged() || pageable instanceof SlicePageRequest) {
+            return pageable;
+        }
+        return SlicePageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort());
+    }
+}
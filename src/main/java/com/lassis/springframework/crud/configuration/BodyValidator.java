@@ -0,0 +1,67 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.lassis.springframework.crud.exception.ValidationException;
+import lombok.RequiredArgsConstructor;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Validates the request bodies of one dto class, classes without any constraint are never handed to the {@link Validator}.
+ */
+@RequiredArgsConstructor
+class BodyValidator {
+    private final Validator validator;
+    private final Class<? extends Serializable> dtoClass;
+    private final boolean constrained;
+    private final boolean timed;
+    private final LongConsumer timer;
+
+    static BodyValidator of(Validator validator, Class<? extends Serializable> dtoClass, boolean timed, LongConsumer timer) {
+        boolean constrained = validator.getConstraintsForClass(dtoClass).isBeanConstrained();
+        return new BodyValidator(validator, dtoClass, constrained, timed, timer);
+    }
+
+    void validate(Serializable body) throws ValidationException {
+        // a subclass could declare constraints of its own
+        if (!constrained && body.getClass() == dtoClass) {
+            return;
+        }
+
+        long start = timed ? System.nanoTime() : 0L;
+        Set<ConstraintViolation<Serializable>> errors = validator.validate(body);
+        if (timed) {
+            timer.accept(System.nanoTime() - start);
+        }
+
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+    }
+
+    /**
+     * class level and cascaded constraints are not checked
+     */
+    void validateProperties(Serializable body, Set<String> properties) throws ValidationException {
+        if (!constrained && body.getClass() == dtoClass) {
+            return;
+        }
+
+        long start = timed ? System.nanoTime() : 0L;
+        Set<ConstraintViolation<Serializable>> errors = new HashSet<>();
+        for (String property : properties) {
+            errors.addAll(validator.validateProperty(body, property));
+        }
+        if (timed) {
+            timer.accept(System.nanoTime() - start);
+        }
+
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+    }
+}
@@ -1,55 +1,121 @@
 package com.lassis.springframework.crud.configuration;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.lassis.springframework.crud.api.KeysetPaginationConverter;
 import com.lassis.springframework.crud.api.PaginationConverter;
 import com.lassis.springframework.crud.api.SimplePaginationConverter;
+import com.lassis.springframework.crud.api.SlicePaginationConverter;
 import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.exception.NotFoundException;
+import com.lassis.springframework.crud.exception.RelationshipNotFoundException;
+import com.lassis.springframework.crud.exception.UnsupportedCrudOperationException;
 import com.lassis.springframework.crud.exception.ValidationException;
+import com.lassis.springframework.crud.metrics.CrudMetrics;
+import com.lassis.springframework.crud.metrics.MicrometerCrudMetrics;
 import com.lassis.springframework.crud.pojo.BodyValidation;
 import com.lassis.springframework.crud.pojo.BodyValidation.BodyContent;
+import com.lassis.springframework.crud.pojo.BulkDeleteResult;
+import com.lassis.springframework.crud.pojo.BulkGetMeta;
+import com.lassis.springframework.crud.pojo.BulkItemResult;
+import com.lassis.springframework.crud.pojo.BulkUpdateItem;
 import com.lassis.springframework.crud.pojo.DtoType;
+import com.lassis.springframework.crud.pojo.Pagination;
 import com.lassis.springframework.crud.pojo.Result;
 import com.lassis.springframework.crud.service.CrudService;
 import com.lassis.springframework.crud.service.DtoConverter;
+import com.lassis.springframework.crud.service.IdChain;
+import com.lassis.springframework.crud.service.KeysetPageRequest;
+import com.lassis.springframework.crud.service.MappingDtoConverter;
+import com.lassis.springframework.crud.service.SlicePageRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.ResolvableType;
-import org.springframework.data.domain.Page;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.servlet.function.RequestPredicate;
 import org.springframework.web.servlet.function.RouterFunction;
 import org.springframework.web.servlet.function.RouterFunctions;
 import org.springframework.web.servlet.function.ServerRequest;
 import org.springframework.web.servlet.function.ServerResponse;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.LongConsumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
-import static java.util.stream.Collectors.collectingAndThen;
 import static org.springframework.core.ResolvableType.forClassWithGenerics;
+import static org.springframework.web.servlet.function.RequestPredicates.contentType;
+import static org.springframework.web.servlet.function.RequestPredicates.methods;
 import static org.springframework.web.servlet.function.RequestPredicates.path;
 import static org.springframework.web.servlet.function.RouterFunctions.route;
 
 @Slf4j
 @RequiredArgsConstructor
-class CRUDAPIConfiguration {
+class CRUDAPIConfiguration implements DisposableBean {
+
+    static final DtoConverter<Serializable, Serializable, WithId<Serializable>> BYPASS_DTO_CONVERTER = bypassDtoConverter();
+    private static final String MICROMETER_REGISTRY_CLASS = "io.micrometer.core.instrument.MeterRegistry";
+    private static final String HEADER_PREFER = "Prefer";
+    private static final String HEADER_PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RETURN_MINIMAL = "return=minimal";
+    private static final String BULK_PATH = "/_bulk";
+    private static final String PARAM_IDS = "ids";
+    private static final String PARAM_ALL = "all";
+    private static final String CHUNK_FAILED = "not saved, its chunk failed";
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private static final MediaType APPLICATION_MERGE_PATCH_JSON = MediaType.valueOf("application/merge-patch+json");
+
+    /**
+     * a missing or wildcard accept header does not match
+     */
+    private static final RequestPredicate ACCEPT_NDJSON = req -> req.headers().accept().stream()
+            .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
 
-    private static final DtoConverter<Serializable, Serializable, WithId<Serializable>> BYPASS_DTO_CONVERTER = bypassDtoConverter();
     private final ApplicationContext context;
     private final CRUDProperties config;
+    private final List<EndpointExecutor> executors = new ArrayList<>();
 
     @Bean
     IdMapper<Long> longIdMapper() {
@@ -81,132 +147,499 @@ class CRUDAPIConfiguration {
     }
 
     @Bean
-    RouterFunction<ServerResponse> crudRouterFunction(PaginationConverter paginationManager) {
-        RouterFunctions.Builder route = route();
+    @ConditionalOnMissingBean(CrudMetrics.class)
+    CrudMetrics crudMetrics() {
+        return ClassUtils.isPresent(MICROMETER_REGISTRY_CLASS, getClass().getClassLoader())
+                ? MicrometerCrudMetrics.fromBeanFactory(context)
+                : CrudMetrics.NONE;
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    RouterFunction<ServerResponse> crudRouterFunction(PaginationConverter paginationManager,
+                                                      Validator validator,
+                                                      CrudMetrics metrics) {
+        EndpointTrie trie = new EndpointTrie();
+        ObjectMapper objectMapper = context.getBeanProvider(ObjectMapper.class).getIfAvailable(() -> Jackson2ObjectMapperBuilder.json().build());
 
         for (CRUDPathProperties endpoint : config.getEndpoints()) {
             String path = config.getBasePath() + endpoint.getPath();
-            route = createRoute(context, route, endpoint, paginationManager, path, 0);
+            createRoute(context, trie, endpoint, paginationManager, validator, metrics, objectMapper, path, 0);
         }
 
-        return route.build();
+        return trie;
     }
 
-    private RouterFunctions.Builder createRoute(ApplicationContext context,
-                                                RouterFunctions.Builder route,
-                                                CRUDPathProperties endpoint,
-                                                PaginationConverter paginationManager,
-                                                String path,
-                                                int level) {
+    private void createRoute(ApplicationContext context,
+                             EndpointTrie trie,
+                             CRUDPathProperties endpoint,
+                             PaginationConverter paginationManager,
+                             Validator validator,
+                             CrudMetrics metrics,
+                             ObjectMapper objectMapper,
+                             String path,
+                             int level) {
+
+        final String idVar = "id" + level;
+        final String pathVar = "/{" + idVar + "}";
+        final String itemPath = path + pathVar;
+        final String bulkPath = path + BULK_PATH;
+        final EndpointPlan plan = createPlan(context, endpoint, paginationManager, validator, metrics, objectMapper, path, level);
+        final EndpointExecutor executor = createExecutor(endpoint, metrics, path);
+
+        Set<HttpMethod> bulkMethods = EnumSet.noneOf(HttpMethod.class);
+        if (endpoint.getMethods().contains(HttpMethod.POST)) {
+            bulkMethods.add(HttpMethod.POST);
+        }
+        if (endpoint.getMethods().contains(HttpMethod.PUT)) {
+            bulkMethods.add(HttpMethod.PUT);
+        }
+
+        // the bulk path is routed before the item path, which would take it as an id
+        RouterFunctions.Builder builder = route()
+                .route(path(bulkPath).and(methods(bulkMethods.toArray(new HttpMethod[0])).negate()),
+                        req -> ServerResponse.status(HttpStatus.METHOD_NOT_ALLOWED).allow(bulkMethods).build());
+        if (endpoint.getMethods().contains(HttpMethod.GET)) {
+            // an explicit accept predicate, the default */* would match the ndjson type as well
+            builder.GET(path, ACCEPT_NDJSON, req -> export(req, plan))
+                    .GET(path, req -> retrieve(req, plan))
+                    .GET(itemPath, req -> retrieveById(req, plan));
+        }
+
+        if (endpoint.getMethods().contains(HttpMethod.POST)) {
+            builder.POST(path, req -> create(req, plan))
+                    .POST(bulkPath, req -> createAll(req, plan));
+        }
+
+        if (endpoint.getMethods().contains(HttpMethod.PUT)) {
+            builder.PUT(bulkPath, req -> updateAll(req, plan))
+                    .PUT(itemPath, req -> update(req, plan));
+        }
+
+        if (endpoint.getMethods().contains(HttpMethod.PATCH)) {
+            builder.PATCH(itemPath, contentType(APPLICATION_MERGE_PATCH_JSON), req -> patch(req, plan));
+        }
 
-        final String pathVarName = "id" + level;
-        final String pathVar = "/{" + pathVarName + "}";
+        if (endpoint.getMethods().contains(HttpMethod.DELETE)) {
+            builder.DELETE(path, req -> deleteAll(req, plan))
+                    .DELETE(itemPath, req -> delete(req, plan));
+        }
+
+        if (Objects.nonNull(executor)) {
+            builder.filter(executor);
+        }
+
+        // registered after the executor so it runs on the thread handling the request
+        if (metrics.isEnabled()) {
+            builder.filter(new OperationMetrics(metrics.operations(path, level), idVar));
+        }
+
+        RouterFunction<ServerResponse> routes = builder.build();
+        trie.add(path, routes);
+        trie.add(itemPath, routes);
+        trie.add(bulkPath, routes);
+        log.info("crud endpoint {} was created", path);
+
+        for (CRUDPathProperties sub : endpoint.getEndpoints()) {
+            String subPath = itemPath + sub.getPath();
+
+            createRoute(context, trie, sub, paginationManager, validator, metrics, objectMapper, subPath, level + 1);
+        }
+    }
+
+    @Nullable
+    private EndpointExecutor createExecutor(CRUDPathProperties endpoint, CrudMetrics metrics, String path) {
+        if (Objects.isNull(endpoint.getExecutor())) {
+            return null;
+        }
+
+        EndpointExecutor executor = EndpointExecutor.of(path, endpoint.getExecutor());
+        executors.add(executor);
+        metrics.executor(path, executor);
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        executors.forEach(EndpointExecutor::shutdown);
+    }
+
+    private EndpointPlan createPlan(ApplicationContext context,
+                                    CRUDPathProperties endpoint,
+                                    PaginationConverter paginationManager,
+                                    Validator validator,
+                                    CrudMetrics metrics,
+                                    ObjectMapper objectMapper,
+                                    String path,
+                                    int level) {
 
         final Class<? extends WithId<? extends Serializable>> entityClass = endpoint.getEntityClass();
         final Class<? extends Serializable> idClass = config.getIdClass();
+        final LongConsumer validationTimer = metrics.validation(path);
 
-        final CrudService<WithId<Serializable>, Serializable> service = resolve(forClassWithGenerics(CrudService.class, entityClass, idClass), context);
         final IdMapper<Serializable> idMapper = resolve(forClassWithGenerics(IdMapper.class, idClass), context);
 
-        route = route.nest(path(path), builder -> {
-            if (endpoint.getMethods().contains(HttpMethod.GET)) {
-                builder.GET("", req -> retrieve(req, service, idMapper, endpoint, paginationManager, level))
-                        .GET(pathVar, req -> retrieveById(req, service, endpoint, idMapper, level));
+        return EndpointPlan.builder()
+                .path(path)
+                .level(level)
+                .service(resolve(forClassWithGenerics(CrudService.class, entityClass, idClass), context))
+                .idMapper(idMapper)
+                .idChainReader(IdChainReader.of(idMapper, level))
+                .paginationConverter(getPaginationConverter(endpoint, paginationManager, idMapper))
+                .createConverter(getDtoConverter(context, endpoint, DtoType.POST, DtoType.RESULT))
+                .updateConverter(getDtoConverter(context, endpoint, DtoType.PUT, DtoType.RESULT))
+                .getConverter(getDtoConverter(context, endpoint, DtoType.GET, DtoType.GET))
+                .listConverter(getDtoConverter(context, endpoint, DtoType.LIST, DtoType.LIST))
+                .createDtoClass(endpoint.getDtoClass(DtoType.POST))
+                .updateDtoClass(endpoint.getDtoClass(DtoType.PUT))
+                .createListType(listTypeOf(endpoint.getDtoClass(DtoType.POST)))
+                .updateListType(updateListTypeOf(idClass, endpoint.getDtoClass(DtoType.PUT)))
+                .entityTags(EntityTags.of(entityClass, objectMapper, Boolean.TRUE.equals(endpoint.getBodyEtag())))
+                .mergePatch(MergePatch.of(objectMapper, endpoint.getDtoClass(DtoType.PUT)))
+                .fieldSelector(FieldSelector.of(objectMapper, endpoint.getFields(),
+                        endpoint.getDtoClass(DtoType.GET), endpoint.getDtoClass(DtoType.LIST)))
+                .objectMapper(objectMapper)
+                .createValidator(BodyValidator.of(validator, endpoint.getDtoClass(DtoType.POST), metrics.isEnabled(), validationTimer))
+                .updateValidator(BodyValidator.of(validator, endpoint.getDtoClass(DtoType.PUT), metrics.isEnabled(), validationTimer))
+                .pageSize(endpoint.getPageSize())
+                .pageSizeRecorder(metrics.pageSize(path))
+                .bulkChunkSize(endpoint.getBulkChunkSize())
+                .build();
+    }
+
+
+    private ServerResponse create(ServerRequest req, EndpointPlan plan)
+            throws javax.servlet.ServletException, java.io.IOException {
+
+        IdChain<Serializable> idChain = plan.getIdChainReader().chain(req);
+
+        try {
+            DtoConverter<Serializable, Serializable, WithId<Serializable>> dtoConverter = plan.getCreateConverter();
+            WithId<Serializable> body = getBody(dtoConverter, plan.getCreateValidator(), plan.getCreateDtoClass(), req);
+
+            if (isReturnMinimal(req)) {
+                WithId<Serializable> created = plan.getService().create(idChain, body, false);
+                return ServerResponse.created(resourceUri(req, created.getId()))
+                        .header(HEADER_PREFERENCE_APPLIED, RETURN_MINIMAL)
+                        .build();
             }
 
-            if (endpoint.getMethods().contains(HttpMethod.POST)) {
-                builder.POST("", req -> create(req, service, endpoint, idMapper, level));
+            WithId<Serializable> created = plan.getService().create(idChain, body);
+            Serializable data = dtoConverter.toDto(created);
+
+            return ServerResponse.created(resourceUri(req, created.getId())).body(Result.of(data));
+        } catch (ValidationException e) {
+            return processValidationException(e);
+        }
+
+    }
+
+    private ServerResponse createAll(ServerRequest req, EndpointPlan plan)
+            throws javax.servlet.ServletException, java.io.IOException {
+
+        IdChain<Serializable> idChain = plan.getIdChainReader().chain(req);
+        DtoConverter<Serializable, Serializable, WithId<Serializable>> dtoConverter = plan.getCreateConverter();
+        List<Serializable> bodies = req.body(plan.getCreateListType());
+
+        BulkItemResult[] results = new BulkItemResult[bodies.size()];
+        List<Integer> indexes = new ArrayList<>(bodies.size());
+        List<WithId<Serializable>> entities = new ArrayList<>(bodies.size());
+
+        for (int i = 0; i < bodies.size(); i++) {
+            Serializable body = bodies.get(i);
+            if (Objects.isNull(body)) {
+                results[i] = BulkItemResult.failed(i, HttpStatus.BAD_REQUEST, null, "element must not be null");
+                continue;
             }
 
-            if (endpoint.getMethods().contains(HttpMethod.PUT)) {
-                builder.PUT(pathVar, req -> update(req, service, endpoint, idMapper, level));
+            try {
+                plan.getCreateValidator().validate(body);
+            } catch (ValidationException e) {
+                results[i] = BulkItemResult.invalid(i, toViolations(e));
+                continue;
             }
 
-            if (endpoint.getMethods().contains(HttpMethod.DELETE)) {
-                builder.DELETE(pathVar, req -> delete(req, service, idMapper, level));
+            WithId<Serializable> entity = dtoConverter.fromDto(body);
+            if (Objects.nonNull(entity.getId())) {
+                results[i] = BulkItemResult.failed(i, HttpStatus.BAD_REQUEST, entity.getId(), "id must be empty on create");
+                continue;
             }
-        });
-        log.info("crud endpoint {} was created", path);
 
-        for (CRUDPathProperties sub : endpoint.getEndpoints()) {
-            String subPath = path + pathVar + sub.getPath();
+            indexes.add(i);
+            entities.add(entity);
+        }
+
+        boolean minimal = isReturnMinimal(req);
+        int chunkSize = plan.getBulkChunkSize();
+        for (int from = 0; from < entities.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, entities.size());
+            List<WithId<Serializable>> created;
+            try {
+                created = plan.getService().createAll(idChain, entities.subList(from, to));
+            } catch (NotFoundException | RelationshipNotFoundException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                log.warn("chunk of elements {} to {} of the bulk create of {} failed", indexes.get(from), indexes.get(to - 1), req.path(), e);
+                HttpStatus status = statusOf(e);
+                for (int i = from; i < to; i++) {
+                    results[indexes.get(i)] = BulkItemResult.failed(indexes.get(i), status, null, CHUNK_FAILED);
+                }
+                continue;
+            }
 
-            route = createRoute(context, route, sub, paginationManager, subPath, level + 1);
+            for (int i = from; i < to; i++) {
+                WithId<Serializable> entity = created.get(i - from);
+                Serializable data = minimal ? null : dtoConverter.toDto(entity);
+                results[indexes.get(i)] = BulkItemResult.of(indexes.get(i), HttpStatus.CREATED, entity.getId(), data);
+            }
         }
 
-        return route;
+        return ServerResponse.ok().body(Result.of(Arrays.asList(results)));
     }
 
+    private ServerResponse retrieve(ServerRequest req, EndpointPlan plan) throws java.io.IOException {
+        if (req.params().containsKey(PARAM_IDS)) {
+            return retrieveAll(req, plan);
+        }
+
+        Optional<Set<String>> fields;
+        try {
+            fields = plan.getFieldSelector().select(req);
+        } catch (IllegalArgumentException e) {
+            return badRequest(FieldSelector.PARAM_FIELDS, e.getMessage());
+        }
+
+        IdChain<Serializable> idChain = plan.getIdChainReader().chain(req);
+        PaginationConverter paginationManager = plan.getPaginationConverter();
+        Pageable pageable = paginationManager.getPageable(req, plan.getPageSize());
+
+        if (fields.isPresent()) {
+            Slice<WithId<Serializable>> pageContent = plan.getService().all(idChain, pageable, fields.get());
+            plan.getPageSizeRecorder().accept(pageContent.getNumberOfElements());
+            List<Serializable> data = pageContent.map(plan.getListConverter()::toDto).getContent();
+            return selectedOk(req, plan, fields.get(), Result.of(data, paginationManager.toPagination(pageContent)));
+        }
+
+        Slice<WithId<Serializable>> pageContent = plan.getService().all(idChain, pageable);
+        plan.getPageSizeRecorder().accept(pageContent.getNumberOfElements());
+        Pagination pagination = paginationManager.toPagination(pageContent);
+
+        String eTag = plan.getEntityTags().ofSlice(pageContent, pagination);
+        if (Objects.nonNull(eTag)) {
+            Optional<ServerResponse> notModified = req.checkNotModified(eTag);
+            if (notModified.isPresent()) {
+                return notModified.get();
+            }
+        }
+
+        List<Serializable> data = pageContent.map(plan.getListConverter()::toDto).getContent();
+        return taggedOk(req, plan, eTag, Result.of(data, pagination));
+    }
 
-    private ServerResponse create(ServerRequest req,
-                                  CrudService<WithId<Serializable>, Serializable> service,
-                                  CRUDPathProperties endpoint,
-                                  IdMapper<Serializable> idMapper,
-                                  int level)
-            throws javax.servlet.ServletException, java.io.IOException {
 
-        Queue<Serializable> idChain = toIdChain(idMapper, req, level);
+    /**
+     * the first batch is read before the response is committed, so a missing parent is still answered with an error.
+     * Set {@code spring.jpa.open-in-view} to false, or the persistence context keeps every batch read
+     */
+    private ServerResponse export(ServerRequest req, EndpointPlan plan) {
+        IdChain<Serializable> idChain = plan.getIdChainReader().chain(req);
+        int batchSize = plan.getBulkChunkSize();
 
+        Slice<WithId<Serializable>> first;
+        boolean keyset = true;
         try {
-            DtoConverter<Serializable, Serializable, WithId<Serializable>> dtoConverter = getDtoConverter(endpoint, DtoType.POST, DtoType.RESULT);
-            WithId<Serializable> body = getBody(dtoConverter, endpoint.getDtoClass(DtoType.POST), req);
-            WithId<Serializable> created = service.create(idChain, body);
+            first = plan.getService().all(idChain, KeysetPageRequest.first(batchSize));
+        } catch (UnsupportedCrudOperationException e) {
+            log.debug("{} does not support keyset pagination, it is exported by offset", plan.getPath());
+            first = plan.getService().all(idChain, SlicePageRequest.of(0, batchSize, Sort.by("id")));
+            keyset = false;
+        }
 
-            Serializable data = dtoConverter.toDto(created);
+        final Slice<WithId<Serializable>> firstBatch = first;
+        final boolean byKeyset = keyset;
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .build((servletRequest, servletResponse) -> {
+                    try {
+                        writeExport(servletResponse.getOutputStream(), plan, idChain, firstBatch, byKeyset);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                });
+    }
 
-            return ServerResponse.created(req.uri().resolve("/" + created.getId())).body(Result.of(data));
-        } catch (ValidationException e) {
-            return processValidationException(e);
+    private static void writeExport(OutputStream out,
+                                    EndpointPlan plan,
+                                    IdChain<Serializable> idChain,
+                                    Slice<WithId<Serializable>> first,
+                                    boolean keyset) throws IOException {
+
+        DtoConverter<Serializable, Serializable, WithId<Serializable>> dtoConverter = plan.getListConverter();
+        ObjectWriter writer = plan.getObjectMapper()
+                .writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = plan.getObjectMapper().getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            Slice<WithId<Serializable>> batch = first;
+            while (true) {
+                for (WithId<Serializable> entity : batch) {
+                    writer.writeValue(generator, dtoConverter.toDto(entity));
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+
+                if (!batch.hasNext() || !batch.hasContent()) {
+                    return;
+                }
+                batch = plan.getService().all(idChain, nextExportBatch(batch, keyset));
+            }
         }
+    }
 
+    private static Pageable nextExportBatch(Slice<WithId<Serializable>> batch, boolean keyset) {
+        if (keyset) {
+            List<WithId<Serializable>> content = batch.getContent();
+            return KeysetPageRequest.after(content.get(content.size() - 1).getId(), batch.getSize());
+        }
+        return batch.nextPageable();
     }
 
-    private ServerResponse retrieve(ServerRequest req,
-                                    CrudService<WithId<Serializable>, Serializable> service,
-                                    IdMapper<Serializable> idMapper,
-                                    CRUDPathProperties endpoint,
-                                    PaginationConverter paginationManager,
-                                    int level) {
+    private ServerResponse retrieveAll(ServerRequest req, EndpointPlan plan) {
+        IdChain<Serializable> idChain = plan.getIdChainReader().chain(req);
+
+        List<Serializable> ids;
+        try {
+            ids = readIds(req, plan);
+        } catch (IllegalArgumentException e) {
+            return badRequest(PARAM_IDS, "ids must be a comma separated list of ids");
+        }
+
+        List<Serializable> data = new ArrayList<>(ids.size());
+        List<Serializable> missing = new ArrayList<>();
+        int chunkSize = plan.getBulkChunkSize();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Serializable> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            Map<Serializable, WithId<Serializable>> found = plan.getService().getAll(idChain, chunk);
+
+            for (Serializable id : chunk) {
+                WithId<Serializable> entity = found.get(id);
+                if (Objects.isNull(entity)) {
+                    missing.add(id);
+                } else {
+                    data.add(plan.getGetConverter().toDto(entity));
+                }
+            }
+        }
+
+        return ServerResponse.ok().body(Result.of(data, BulkGetMeta.of(ids.size(), missing)));
+    }
+
+    private ServerResponse retrieveById(ServerRequest req, EndpointPlan plan) throws java.io.IOException {
+        Optional<Set<String>> fields;
+        try {
+            fields = plan.getFieldSelector().select(req);
+        } catch (IllegalArgumentException e) {
+            return badRequest(FieldSelector.PARAM_FIELDS, e.getMessage());
+        }
+
+        IdChain<Serializable> idChain = plan.getIdChainReader().chain(req);
+
+        Serializable id = plan.getIdChainReader().id(req);
 
-        Queue<Serializable> idChain = toIdChain(idMapper, req, level);
-        Pageable pageable = paginationManager.getPageable(req, endpoint.getPageSize());
+        if (fields.isPresent()) {
+            WithId<Serializable> entity = plan.getService().get(idChain, id, fields.get());
+            return selectedOk(req, plan, fields.get(), Result.of(plan.getGetConverter().toDto(entity)));
+        }
+        EntityTags entityTags = plan.getEntityTags();
+
+        if (entityTags.hasVersion() && !req.headers().header(HEADER_IF_NONE_MATCH).isEmpty()) {
+            Optional<ServerResponse> notModified = plan.getService().getVersion(idChain, id)
+                    .map(entityTags::ofVersion)
+                    .flatMap(req::checkNotModified);
+            if (notModified.isPresent()) {
+                return notModified.get();
+            }
+        }
 
-        Page<Serializable> pageContent = service.all(idChain, pageable)
-                .map(getDtoConverter(endpoint, DtoType.LIST, DtoType.LIST)::toDto);
+        WithId<Serializable> entity = plan.getService().get(idChain, id);
 
-        return ServerResponse.ok().body(Result.of(pageContent.getContent(), paginationManager.toPagination(pageContent)));
+        String eTag = entityTags.ofEntity(entity);
+        if (Objects.nonNull(eTag)) {
+            Optional<ServerResponse> notModified = req.checkNotModified(eTag);
+            if (notModified.isPresent()) {
+                return notModified.get();
+            }
+        }
+
+        Serializable data = plan.getGetConverter().toDto(entity);
+        return taggedOk(req, plan, eTag, Result.of(data));
     }
 
+    /**
+     * @param eTag null when it is not known before writing the body
+     */
+    private static ServerResponse taggedOk(ServerRequest req, EndpointPlan plan, @Nullable String eTag, Result<?, ?> body)
+            throws java.io.IOException {
 
-    private ServerResponse retrieveById(ServerRequest req,
-                                        CrudService<WithId<Serializable>, Serializable> service,
-                                        CRUDPathProperties endpoint,
-                                        IdMapper<Serializable> idMapper,
-                                        int level) {
+        if (Objects.nonNull(eTag)) {
+            return ServerResponse.ok().eTag(eTag).body(body);
+        }
 
-        Queue<Serializable> idChain = toIdChain(idMapper, req, level);
+        if (!plan.getEntityTags().hasBodyTags()) {
+            return ServerResponse.ok().body(body);
+        }
+
+        return bytesOk(req, plan, plan.getEntityTags().serialize(body));
+    }
 
-        Serializable id = idMapper.apply(req.pathVariable("id" + level));
+    /**
+     * a partial entity may not have the version the entity tag is based on, so only body tags apply
+     */
+    private static ServerResponse selectedOk(ServerRequest req, EndpointPlan plan, Set<String> fields, Result<?, ?> body)
+            throws java.io.IOException {
 
-        Serializable data = getDtoConverter(endpoint, DtoType.GET, DtoType.GET).toDto(service.get(idChain, id));
-        return ServerResponse.ok().body(Result.of(data));
+        byte[] bytes = plan.getFieldSelector().serialize(body, fields);
+        if (!plan.getEntityTags().hasBodyTags()) {
+            return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).body(bytes);
+        }
+
+        return bytesOk(req, plan, bytes);
     }
 
-    private ServerResponse update(ServerRequest req,
-                                  CrudService<WithId<Serializable>, Serializable> service,
-                                  CRUDPathProperties endpoint, IdMapper<Serializable> idMapper,
-                                  int level)
+    private static ServerResponse bytesOk(ServerRequest req, EndpointPlan plan, byte[] bytes) {
+        String bytesTag = plan.getEntityTags().ofBytes(bytes);
+        return req.checkNotModified(bytesTag)
+                .orElseGet(() -> ServerResponse.ok()
+                        .eTag(bytesTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(bytes));
+    }
+
+    private ServerResponse update(ServerRequest req, EndpointPlan plan)
             throws javax.servlet.ServletException, java.io.IOException {
 
-        Queue<Serializable> idChain = toIdChain(idMapper, req, level);
+        IdChain<Serializable> idChain = plan.getIdChainReader().chain(req);
 
-        Serializable id = idMapper.apply(req.pathVariable("id" + level));
+        Serializable id = plan.getIdChainReader().id(req);
 
         try {
-            DtoConverter<Serializable, Serializable, WithId<Serializable>> dtoConverter = getDtoConverter(endpoint, DtoType.PUT, DtoType.RESULT);
-            WithId<Serializable> body = getBody(dtoConverter, endpoint.getDtoClass(DtoType.PUT), req);
+            DtoConverter<Serializable, Serializable, WithId<Serializable>> dtoConverter = plan.getUpdateConverter();
+            WithId<Serializable> body = getBody(dtoConverter, plan.getUpdateValidator(), plan.getUpdateDtoClass(), req);
+
+            if (isReturnMinimal(req)) {
+                plan.getService().update(idChain, id, body, false);
+                return ServerResponse.noContent()
+                        .location(resourceUri(req, null))
+                        .header(HEADER_PREFERENCE_APPLIED, RETURN_MINIMAL)
+                        .build();
+            }
 
-            Serializable data = dtoConverter.toDto(service.update(idChain, id, body));
+            Serializable data = dtoConverter.toDto(plan.getService().update(idChain, id, body));
 
             return ServerResponse.ok().body(Result.of(data));
         } catch (ValidationException e) {
@@ -214,69 +647,305 @@ class CRUDAPIConfiguration {
         }
     }
 
-    private ServerResponse delete(ServerRequest req,
-                                  CrudService<WithId<Serializable>, Serializable> service,
-                                  IdMapper<Serializable> idMapper,
-                                  int level) {
+    private ServerResponse patch(ServerRequest req, EndpointPlan plan)
+            throws javax.servlet.ServletException, java.io.IOException {
+
+        IdChain<Serializable> idChain = plan.getIdChainReader().chain(req);
+
+        Serializable id = plan.getIdChainReader().id(req);
+
+        JsonNode patch = req.body(JsonNode.class);
+        if (Objects.isNull(patch) || !patch.isObject()) {
+            return badRequest("body", "merge patch must be a JSON object");
+        }
+
+        Serializable body;
+        try {
+            body = plan.getMergePatch().read(patch);
+        } catch (JsonProcessingException e) {
+            return badRequest("body", e.getOriginalMessage());
+        }
+
+        try {
+            Set<String> properties = plan.getMergePatch().properties(patch);
+            plan.getUpdateValidator().validateProperties(body, properties);
+
+            DtoConverter<Serializable, Serializable, WithId<Serializable>> dtoConverter = plan.getUpdateConverter();
+            WithId<Serializable> patched = plan.getService().patch(idChain, id, dtoConverter.fromDto(body), properties);
+
+            return ServerResponse.ok().body(Result.of(dtoConverter.toDto(patched)));
+        } catch (ValidationException e) {
+            return processValidationException(e);
+        }
+    }
+
+    private ServerResponse updateAll(ServerRequest req, EndpointPlan plan)
+            throws javax.servlet.ServletException, java.io.IOException {
+
+        IdChain<Serializable> idChain = plan.getIdChainReader().chain(req);
+        DtoConverter<Serializable, Serializable, WithId<Serializable>> dtoConverter = plan.getUpdateConverter();
+        List<BulkUpdateItem<Serializable, Serializable>> items = req.body(plan.getUpdateListType());
+
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        Map<Serializable, Integer> indexes = new LinkedHashMap<>();
+        Map<Serializable, WithId<Serializable>> entities = new LinkedHashMap<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            BulkUpdateItem<Serializable, Serializable> item = items.get(i);
+            if (Objects.isNull(item) || Objects.isNull(item.getId()) || Objects.isNull(item.getBody())) {
+                results[i] = BulkItemResult.failed(i, HttpStatus.BAD_REQUEST, null, "id and body are required");
+                continue;
+            }
+
+            Serializable id = item.getId();
+            if (indexes.containsKey(id)) {
+                results[i] = BulkItemResult.failed(i, HttpStatus.BAD_REQUEST, id, "id repeated in the request");
+                continue;
+            }
+
+            try {
+                plan.getUpdateValidator().validate(item.getBody());
+            } catch (ValidationException e) {
+                results[i] = BulkItemResult.invalid(i, toViolations(e));
+                continue;
+            }
+
+            WithId<Serializable> entity = dtoConverter.fromDto(item.getBody());
+            if (Objects.nonNull(entity.getId()) && !Objects.equals(id, entity.getId())) {
+                results[i] = BulkItemResult.failed(i, HttpStatus.BAD_REQUEST, id, "body id <" + entity.getId() + "> and id <" + id + "> are different");
+                continue;
+            }
+
+            indexes.put(id, i);
+            entities.put(id, entity);
+        }
+
+        boolean minimal = isReturnMinimal(req);
+        int chunkSize = plan.getBulkChunkSize();
+        Map<Serializable, WithId<Serializable>> chunk = new LinkedHashMap<>();
+        Iterator<Map.Entry<Serializable, WithId<Serializable>>> iterator = entities.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<Serializable, WithId<Serializable>> entry = iterator.next();
+            chunk.put(entry.getKey(), entry.getValue());
+
+            if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                Map<Serializable, WithId<Serializable>> updated;
+                try {
+                    updated = plan.getService().updateAll(idChain, chunk);
+                } catch (NotFoundException | RelationshipNotFoundException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    log.warn("chunk of ids {} of the bulk update of {} failed", chunk.keySet(), req.path(), e);
+                    HttpStatus status = statusOf(e);
+                    for (Serializable id : chunk.keySet()) {
+                        results[indexes.get(id)] = BulkItemResult.failed(indexes.get(id), status, id, CHUNK_FAILED);
+                    }
+                    chunk = new LinkedHashMap<>();
+                    continue;
+                }
+
+                for (Serializable id : chunk.keySet()) {
+                    int index = indexes.get(id);
+                    WithId<Serializable> entity = updated.get(id);
+                    results[index] = Objects.isNull(entity)
+                            ? BulkItemResult.failed(index, HttpStatus.NOT_FOUND, id, "element not found")
+                            : BulkItemResult.of(index, HttpStatus.OK, id, minimal ? null : dtoConverter.toDto(entity));
+                }
+                chunk = new LinkedHashMap<>();
+            }
+        }
+
+        return ServerResponse.ok().body(Result.of(Arrays.asList(results)));
+    }
 
-        Queue<Serializable> idChain = toIdChain(idMapper, req, level);
+    private ServerResponse delete(ServerRequest req, EndpointPlan plan) {
+        IdChain<Serializable> idChain = plan.getIdChainReader().chain(req);
 
-        Serializable id = idMapper.apply(req.pathVariable("id" + level));
+        Serializable id = plan.getIdChainReader().id(req);
 
-        service.deleteById(idChain, id);
+        plan.getService().deleteById(idChain, id);
         return ServerResponse.noContent().build();
     }
 
 
+    /**
+     * {@code Prefer: return=minimal} of RFC 7240
+     */
+    private static boolean isReturnMinimal(ServerRequest req) {
+        for (String prefer : req.headers().header(HEADER_PREFER)) {
+            for (String preference : prefer.split(",")) {
+                if (RETURN_MINIMAL.equalsIgnoreCase(preference.trim())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param id id appended to the request path, null to point to the requested resource itself
+     */
+    private static URI resourceUri(ServerRequest req, @Nullable Serializable id) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromUri(req.uri()).replaceQuery(null);
+        if (Objects.nonNull(id)) {
+            builder.pathSegment(String.valueOf(id));
+        }
+        return builder.build(true).toUri();
+    }
+
+    static PaginationConverter getPaginationConverter(CRUDPathProperties endpoint,
+                                                      PaginationConverter paginationManager,
+                                                      IdMapper<Serializable> idMapper) {
+
+        switch (endpoint.getPagination()) {
+            case KEYSET:
+                return new KeysetPaginationConverter(idMapper);
+            case SLICE:
+                return new SlicePaginationConverter(paginationManager);
+            default:
+                return paginationManager;
+        }
+    }
+
+    /**
+     * all children of the parent are deleted only when asked for with {@code all=true}
+     */
+    private ServerResponse deleteAll(ServerRequest req, EndpointPlan plan) {
+        IdChain<Serializable> idChain = plan.getIdChainReader().chain(req);
+
+        List<Serializable> ids;
+        try {
+            ids = readIds(req, plan);
+        } catch (IllegalArgumentException e) {
+            return badRequest(PARAM_IDS, "ids must be a comma separated list of ids");
+        }
+
+        if (Objects.isNull(ids)) {
+            if (!req.param(PARAM_ALL).map(Boolean::parseBoolean).orElse(false)) {
+                return badRequest(PARAM_IDS, "ids are required unless all=true is given");
+            }
+
+            if (plan.getLevel() == 0) {
+                return badRequest(PARAM_ALL, "a root collection cannot be deleted at once");
+            }
+
+            long deleted = plan.getService().deleteAll(idChain);
+            return ServerResponse.ok().body(Result.of(BulkDeleteResult.of(null, deleted)));
+        }
+
+        if (ids.isEmpty()) {
+            return badRequest(PARAM_IDS, "ids must not be empty");
+        }
+
+        long deleted = 0;
+        int chunkSize = plan.getBulkChunkSize();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Serializable> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            deleted += plan.getService().deleteAllById(idChain, chunk);
+        }
+
+        return ServerResponse.ok().body(Result.of(BulkDeleteResult.of(ids.size(), deleted)));
+    }
+
+    /**
+     * @return distinct ids in the requested order, or null when there is no ids param
+     * @throws IllegalArgumentException when an id cannot be read
+     */
+    private static List<Serializable> readIds(ServerRequest req, EndpointPlan plan) {
+        if (!req.params().containsKey(PARAM_IDS)) {
+            return null;
+        }
+
+        Set<Serializable> ids = new LinkedHashSet<>();
+        for (String value : req.params().get(PARAM_IDS)) {
+            for (String id : value.split(",")) {
+                if (!id.trim().isEmpty()) {
+                    ids.add(plan.getIdMapper().apply(id.trim()));
+                }
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * @return the status of the {@link ResponseStatus} of the exception, 500 when it has none
+     */
+    static HttpStatus statusOf(Throwable e) {
+        ResponseStatus responseStatus = AnnotatedElementUtils.findMergedAnnotation(e.getClass(), ResponseStatus.class);
+        return Objects.isNull(responseStatus) ? HttpStatus.INTERNAL_SERVER_ERROR : responseStatus.code();
+    }
+
+    private static ServerResponse badRequest(String field, String reason) {
+        BodyValidation bodyValidation = new BodyValidation(Collections.singleton(new BodyContent(field, reason)));
+        return ServerResponse.badRequest().body(bodyValidation);
+    }
+
     private static ServerResponse processValidationException(ValidationException e) {
-        BodyValidation bodyValidation = e.getErrors()
+        return ServerResponse.badRequest().body(new BodyValidation(toViolations(e)));
+    }
+
+    static Set<BodyContent> toViolations(ValidationException e) {
+        return e.getErrors()
                 .stream()
                 .map(v -> new BodyContent(v.getPropertyPath().toString(), v.getMessage()))
-                .collect(collectingAndThen(Collectors.toSet(), BodyValidation::new));
-        return ServerResponse.badRequest().body(bodyValidation);
+                .collect(Collectors.toSet());
+    }
+
+    private static ParameterizedTypeReference<List<BulkUpdateItem<Serializable, Serializable>>> updateListTypeOf(Class<? extends Serializable> idClass,
+                                                                                                                Class<? extends Serializable> clazz) {
+        ResolvableType itemType = ResolvableType.forClassWithGenerics(BulkUpdateItem.class, idClass, clazz);
+        return ParameterizedTypeReference.forType(ResolvableType.forClassWithGenerics(List.class, itemType).getType());
     }
 
-    private static Queue<Serializable> toIdChain(IdMapper<Serializable> idMapper, ServerRequest req, int level) {
-        return IntStream.range(0, level).boxed()
-                .map(i -> "id" + i)
-                .map(req::pathVariable)
-                .map(idMapper)
-                .collect(Collectors.toCollection(LinkedList::new));
+    private static ParameterizedTypeReference<List<Serializable>> listTypeOf(Class<? extends Serializable> clazz) {
+        return ParameterizedTypeReference.forType(ResolvableType.forClassWithGenerics(List.class, clazz).getType());
     }
 
 
-    private WithId<Serializable> getBody(DtoConverter<Serializable, Serializable, WithId<Serializable>> dtoConverter,
-                                         Class<? extends Serializable> clazz, ServerRequest req)
+    private static WithId<Serializable> getBody(DtoConverter<Serializable, Serializable, WithId<Serializable>> dtoConverter,
+                                                BodyValidator validator,
+                                                Class<? extends Serializable> clazz,
+                                                ServerRequest req)
             throws javax.servlet.ServletException, java.io.IOException, ValidationException {
 
         Serializable body = req.body(clazz);
-
-        Set<ConstraintViolation<Serializable>> errors = validator().validate(body);
-        if (!errors.isEmpty()) {
-            throw new ValidationException(errors);
-        }
+        validator.validate(body);
 
         return dtoConverter.fromDto(body);
     }
 
-    private <R> R resolve(ResolvableType type, ApplicationContext context) {
+    static <R> R resolve(ResolvableType type, ApplicationContext context) {
         ObjectProvider<R> beanProvider = context.getBeanProvider(type);
         return beanProvider.getObject();
     }
 
-    private <R> R resolve(ResolvableType type, ApplicationContext context, Supplier<R> defaultBean) {
+    static <R> R resolve(ResolvableType type, ApplicationContext context, Supplier<R> defaultBean) {
         ObjectProvider<R> beanProvider = context.getBeanProvider(type);
         return beanProvider.getIfAvailable(defaultBean);
     }
 
-    private DtoConverter<Serializable, Serializable, WithId<Serializable>> getDtoConverter(CRUDPathProperties endpoint,
-                                                                                           DtoType inputDtoType,
-                                                                                           DtoType outputDtoType) {
+    static DtoConverter<Serializable, Serializable, WithId<Serializable>> getDtoConverter(ApplicationContext context,
+                                                                                          CRUDPathProperties endpoint,
+                                                                                          DtoType inputDtoType,
+                                                                                          DtoType outputDtoType) {
 
         final Class<? extends Serializable> inputDtoClass = endpoint.getDtoClass(inputDtoType);
         final Class<? extends Serializable> outputDtoClass = endpoint.getDtoClass(outputDtoType);
         final Class<? extends WithId<? extends Serializable>> entityClass = endpoint.getEntityClass();
-        return resolve(forClassWithGenerics(DtoConverter.class, inputDtoClass, outputDtoClass, entityClass), context, () -> BYPASS_DTO_CONVERTER);
+        return resolve(forClassWithGenerics(DtoConverter.class, inputDtoClass, outputDtoClass, entityClass), context,
+                () -> defaultDtoConverter(inputDtoClass, outputDtoClass, entityClass));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static DtoConverter<Serializable, Serializable, WithId<Serializable>> defaultDtoConverter(Class<? extends Serializable> inputDtoClass,
+                                                                                                  Class<? extends Serializable> outputDtoClass,
+                                                                                                  Class<? extends WithId<? extends Serializable>> entityClass) {
+        if (inputDtoClass.equals(entityClass) && outputDtoClass.equals(entityClass)) {
+            return BYPASS_DTO_CONVERTER;
+        }
+
+        return MappingDtoConverter.of((Class) inputDtoClass, (Class) outputDtoClass, (Class) entityClass);
     }
 
     private static DtoConverter<Serializable, Serializable, WithId<Serializable>> bypassDtoConverter() {
@@ -0,0 +1,16 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CRUDCacheProperties {
+    @JsonProperty("max-size")
+    int maxSize = 10_000;
+
+    @JsonProperty("ttl-seconds")
+    long ttlSeconds = 60;
+}
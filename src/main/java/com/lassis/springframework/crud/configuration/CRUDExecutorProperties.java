@@ -0,0 +1,16 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CRUDExecutorProperties {
+    @JsonProperty("pool-size")
+    int poolSize = 10;
+
+    @JsonProperty("queue-depth")
+    int queueDepth = 100;
+}
@@ -3,6 +3,7 @@ package com.lassis.springframework.crud.configuration;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.lassis.springframework.crud.entity.WithId;
 import com.lassis.springframework.crud.pojo.DtoType;
+import com.lassis.springframework.crud.pojo.PaginationType;
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -38,6 +39,39 @@ public class CRUDPathProperties {
     @JsonProperty("page-size")
     Integer pageSize;
 
+    PaginationType pagination;
+
+    @JsonProperty("bulk-chunk-size")
+    Integer bulkChunkSize;
+
+    @JsonProperty("refresh-after-save")
+    Boolean refreshAfterSave;
+
+    @JsonProperty("update-skip-nulls")
+    Boolean updateSkipNulls;
+
+    @JsonProperty("update-only-changed")
+    Boolean updateOnlyChanged;
+
+    @JsonProperty("relationship-cache")
+    CRUDCacheProperties relationshipCache;
+
+    @JsonProperty("entity-cache")
+    CRUDCacheProperties entityCache;
+
+    /**
+     * tags the reads of entities without a version with the hash of their body, buffering it
+     */
+    @JsonProperty("body-etag")
+    Boolean bodyEtag;
+
+    CRUDExecutorProperties executor;
+
+    /**
+     * fields a GET may select with the {@code fields} parameter, sparse fieldsets are disabled when empty
+     */
+    Set<String> fields;
+
     @Setter
     CRUDPathProperties parent;
 
@@ -21,6 +21,9 @@ public class CRUDProperties {
     @JsonProperty("page-size")
     Integer pageSize;
 
+    @JsonProperty("bulk-chunk-size")
+    Integer bulkChunkSize;
+
     Set<HttpMethod> methods;
 
     Set<CRUDPathProperties> endpoints;
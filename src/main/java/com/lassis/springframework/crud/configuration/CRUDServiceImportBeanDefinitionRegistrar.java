@@ -1,7 +1,12 @@
 package com.lassis.springframework.crud.configuration;
 
 import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.metrics.CrudMetrics;
+import com.lassis.springframework.crud.metrics.DbCallCounter;
+import com.lassis.springframework.crud.service.AncestryResolver;
 import com.lassis.springframework.crud.service.BeforeSave;
+import com.lassis.springframework.crud.service.CachingCrudService;
+import com.lassis.springframework.crud.service.CachingParentChildResolver;
 import com.lassis.springframework.crud.service.CrudService;
 import com.lassis.springframework.crud.service.GenericUpdateValuesSetter;
 import com.lassis.springframework.crud.service.MultiLevelCrudService;
@@ -18,9 +23,13 @@ import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.lang.Nullable;
 
 import java.io.Serializable;
+import java.time.Duration;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -33,6 +42,11 @@ class CRUDServiceImportBeanDefinitionRegistrar implements ImportBeanDefinitionRe
 
     private static final String MSG_LOG_FOUND = "{} of type {} found";
 
+    /**
+     * shared by the endpoints below a parent/child pair, so an invalidation done by one of them is seen by all
+     */
+    private final Map<ParentChildResolver<?, ?, ?>, ParentChildResolver<WithId<Serializable>, WithId<Serializable>, Serializable>> cachingResolvers = new ConcurrentHashMap<>();
+
     @Override
     public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry bdr) {
         CRUDProperties config = EndpointsUtil.getConfig();
@@ -75,19 +89,28 @@ class CRUDServiceImportBeanDefinitionRegistrar implements ImportBeanDefinitionRe
                         BeforeSave<WithId<Serializable>> beforeSave = beforeSaveProvider.getIfAvailable(BeforeSave::none);
                         log.debug(MSG_LOG_FOUND, beforeSave, beforeSaveType);
 
-                        UpdateValuesSetter<WithId<Serializable>> updateSetter = updateSetterProvider.getIfAvailable(GenericUpdateValuesSetter::new);
+                        UpdateValuesSetter<WithId<Serializable>> updateSetter = updateSetterProvider.getIfAvailable(() -> new GenericUpdateValuesSetter<>(
+                                Boolean.TRUE.equals(endpoint.getUpdateSkipNulls()),
+                                Boolean.TRUE.equals(endpoint.getUpdateOnlyChanged())
+                        ));
                         log.debug(MSG_LOG_FOUND, updateSetter, updateSetterType);
 
-                        CrudService<WithId<Serializable>, Serializable> rootService = new SimpleCrudService<>(
-                                repository,
+                        AncestryResolver<WithId<Serializable>, Serializable> ancestryResolver = findAncestryResolver(config, endpoint, bf);
+                        if (Objects.nonNull(ancestryResolver) && Objects.nonNull(endpoint.getEntityCache())) {
+                            throw new IllegalStateException("entity-cache of " + getFullPath(endpoint) + " is not supported, its entities are read through an AncestryResolver");
+                        }
+
+                        CrudService<WithId<Serializable>, Serializable> rootService = withEntityCache(endpoint, bf, new SimpleCrudService<>(
+                                countingDbCalls(bf, repository),
                                 beforeSave,
-                                updateSetter
-                        );
+                                updateSetter,
+                                Boolean.TRUE.equals(endpoint.getRefreshAfterSave())
+                        ));
 
                         log.info("bean {} of type {} has been created and it is now available in the context, " +
                                 "if you like to override this bean create a bean with name {}", beanName, crudServiceType, beanName);
 
-                        return createExecutorChain(config, endpoint, bf, rootService);
+                        return createServiceChain(config, endpoint, bf, rootService, ancestryResolver);
                     }).getBeanDefinition()
             );
         }
@@ -95,13 +118,71 @@ class CRUDServiceImportBeanDefinitionRegistrar implements ImportBeanDefinitionRe
         endpoint.getEndpoints().forEach(sub -> registryCrudService(bdr, config, sub, prefixName + endpoint.getPath()));
     }
 
-    private static CrudService<WithId<Serializable>, Serializable> createExecutorChain(CRUDProperties config, CRUDPathProperties endpoint, BeanFactory bf, CrudService<WithId<Serializable>, Serializable> rootService) {
+    /**
+     * below the relationship checks, so nested reads are still validated against their parents
+     */
+    private static CrudService<WithId<Serializable>, Serializable> withEntityCache(CRUDPathProperties endpoint, BeanFactory bf, CrudService<WithId<Serializable>, Serializable> service) {
+        final CRUDCacheProperties cacheConfig = endpoint.getEntityCache();
+        if (Objects.isNull(cacheConfig)) {
+            return service;
+        }
+
+        CachingCrudService<WithId<Serializable>, Serializable> caching =
+                new CachingCrudService<>(service, endpoint.getEntityClass(), cacheConfig.getMaxSize(), Duration.ofSeconds(cacheConfig.getTtlSeconds()));
+
+        CrudMetrics metrics = bf.getBeanProvider(CrudMetrics.class).getIfAvailable(() -> CrudMetrics.NONE);
+        metrics.cache("entity", getFullPath(endpoint), caching.getStatistics());
+
+        log.debug("entity cache of {} with max size {} and ttl of {}s", endpoint.getEntityClass(), cacheConfig.getMaxSize(), cacheConfig.getTtlSeconds());
+        return caching;
+    }
+
+    @Nullable
+    private static AncestryResolver<WithId<Serializable>, Serializable> findAncestryResolver(CRUDProperties config, CRUDPathProperties endpoint, BeanFactory bf) {
+        if (Objects.isNull(endpoint.getParent())) {
+            return null;
+        }
+
+        ResolvableType ancestryType = forClassWithGenerics(AncestryResolver.class, endpoint.getEntityClass(), config.getIdClass());
+        ObjectProvider<AncestryResolver<WithId<Serializable>, Serializable>> ancestryProvider = bf.getBeanProvider(ancestryType);
+        AncestryResolver<WithId<Serializable>, Serializable> ancestryResolver = ancestryProvider.getIfAvailable();
+        if (Objects.nonNull(ancestryResolver)) {
+            log.debug(MSG_LOG_FOUND, ancestryResolver, ancestryType);
+        }
+        return ancestryResolver;
+    }
+
+    private CrudService<WithId<Serializable>, Serializable> createServiceChain(CRUDProperties config,
+                                                                               CRUDPathProperties endpoint,
+                                                                               BeanFactory bf,
+                                                                               CrudService<WithId<Serializable>, Serializable> rootService,
+                                                                               @Nullable AncestryResolver<WithId<Serializable>, Serializable> ancestryResolver) {
         final CRUDPathProperties parent = endpoint.getParent();
         if (Objects.isNull(parent)) {
             return rootService;
         }
 
-        final Class<? extends WithId<? extends Serializable>> parentClazz = parent.getEntityClass();
+        if (Objects.isNull(ancestryResolver)) {
+            return createExecutorChain(config, endpoint, bf, rootService);
+        }
+
+        return new MultiLevelCrudService<>(rootService, getParentChildResolver(config, endpoint, bf), countingDbCalls(bf, ancestryResolver));
+    }
+
+    private CrudService<WithId<Serializable>, Serializable> createExecutorChain(CRUDProperties config, CRUDPathProperties endpoint, BeanFactory bf, CrudService<WithId<Serializable>, Serializable> rootService) {
+        final CRUDPathProperties parent = endpoint.getParent();
+        if (Objects.isNull(parent)) {
+            return rootService;
+        }
+
+        ParentChildResolver<WithId<Serializable>, WithId<Serializable>, Serializable> subRepo = getParentChildResolver(config, endpoint, bf);
+
+        CrudService<WithId<Serializable>, Serializable> multiLevelService = new MultiLevelCrudService<>(rootService, subRepo);
+        return createExecutorChain(config, endpoint.getParent(), bf, multiLevelService);
+    }
+
+    private ParentChildResolver<WithId<Serializable>, WithId<Serializable>, Serializable> getParentChildResolver(CRUDProperties config, CRUDPathProperties endpoint, BeanFactory bf) {
+        final Class<? extends WithId<? extends Serializable>> parentClazz = endpoint.getParent().getEntityClass();
         final Class<? extends WithId<? extends Serializable>> clazz = endpoint.getEntityClass();
         final Class<? extends Serializable> idClass = config.getIdClass();
 
@@ -109,8 +190,32 @@ class CRUDServiceImportBeanDefinitionRegistrar implements ImportBeanDefinitionRe
         ObjectProvider<ParentChildResolver<WithId<Serializable>, WithId<Serializable>, Serializable>> subRepoProvider = bf.getBeanProvider(subRepoType);
         ParentChildResolver<WithId<Serializable>, WithId<Serializable>, Serializable> subRepo = subRepoProvider.getObject();
 
-        CrudService<WithId<Serializable>, Serializable> multiLevelService = new MultiLevelCrudService<>(rootService, subRepo);
-        return createExecutorChain(config, endpoint.getParent(), bf, multiLevelService);
+        final CRUDCacheProperties cacheConfig = endpoint.getRelationshipCache();
+        if (Objects.isNull(cacheConfig)) {
+            return countingDbCalls(bf, subRepo);
+        }
+
+        return cachingResolvers.computeIfAbsent(subRepo, r -> {
+            CachingParentChildResolver<WithId<Serializable>, WithId<Serializable>, Serializable> caching =
+                    new CachingParentChildResolver<>(countingDbCalls(bf, subRepo), cacheConfig.getMaxSize(), Duration.ofSeconds(cacheConfig.getTtlSeconds()));
+
+            CrudMetrics metrics = bf.getBeanProvider(CrudMetrics.class).getIfAvailable(() -> CrudMetrics.NONE);
+            metrics.cache("relationship", getFullPath(endpoint), caching.getStatistics());
+
+            log.debug("relationship cache of {} with max size {} and ttl of {}s", subRepoType, cacheConfig.getMaxSize(), cacheConfig.getTtlSeconds());
+            return caching;
+        });
+    }
+
+    private static <T> T countingDbCalls(BeanFactory bf, T repository) {
+        CrudMetrics metrics = bf.getBeanProvider(CrudMetrics.class).getIfAvailable(() -> CrudMetrics.NONE);
+        return metrics.isEnabled() ? DbCallCounter.counting(repository) : repository;
+    }
+
+    private static String getFullPath(CRUDPathProperties endpoint) {
+        return Objects.isNull(endpoint.getParent())
+                ? endpoint.getPath()
+                : getFullPath(endpoint.getParent()) + endpoint.getPath();
     }
 
     private String createCrudServiceBeanName(CRUDPathProperties endpoint, String prefixName) {
@@ -9,5 +9,5 @@ import java.lang.annotation.Target;
 
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.TYPE)
-@Import({CRUDServiceImportBeanDefinitionRegistrar.class, CRUDAPIConfiguration.class})
+@Import({CRUDServiceImportBeanDefinitionRegistrar.class, CRUDAPIConfiguration.class, ReactiveCRUDAPIConfiguration.class})
 public @interface EnableCrud {}
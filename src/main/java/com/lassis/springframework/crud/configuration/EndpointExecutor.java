@@ -0,0 +1,108 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.lassis.springframework.crud.metrics.ExecutorStatistics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.function.HandlerFilterFunction;
+import org.springframework.web.servlet.function.HandlerFunction;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkhead of an endpoint, its requests are handled on a pool of its own and rejected with 503 once its queue is full.
+ */
+@Slf4j
+final class EndpointExecutor implements HandlerFilterFunction<ServerResponse, ServerResponse>, ExecutorStatistics {
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final String path;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejected = new LongAdder();
+
+    private EndpointExecutor(String path, ThreadPoolExecutor executor) {
+        this.path = path;
+        this.executor = executor;
+    }
+
+    static EndpointExecutor of(String path, CRUDExecutorProperties properties) {
+        if (properties.getPoolSize() <= 0 || properties.getQueueDepth() < 0) {
+            throw new IllegalArgumentException("executor of " + path + " must have a positive pool size and a non negative queue depth");
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("crud" + path.replace('/', '-') + "-");
+        threadFactory.setDaemon(true);
+
+        // without depth requests are only taken while a thread is idle, an array queue cannot be empty sized
+        BlockingQueue<Runnable> queue = properties.getQueueDepth() == 0
+                ? new SynchronousQueue<>()
+                : new ArrayBlockingQueue<>(properties.getQueueDepth());
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                properties.getPoolSize(),
+                properties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                queue,
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+
+        return new EndpointExecutor(path, executor);
+    }
+
+    @Override
+    public ServerResponse filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        CompletableFuture<ServerResponse> response = new CompletableFuture<>();
+
+        try {
+            executor.execute(() -> {
+                try {
+                    response.complete(next.handle(request));
+                } catch (Exception e) {
+                    response.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.debug("queue of {} is full, request rejected", path);
+            return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .build();
+        }
+
+        return ServerResponse.async(response);
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public int poolSize() {
+        return executor.getPoolSize();
+    }
+
+    @Override
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,89 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lassis.springframework.crud.api.PaginationConverter;
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.pojo.BulkUpdateItem;
+import com.lassis.springframework.crud.service.CrudService;
+import com.lassis.springframework.crud.service.DtoConverter;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Everything a request handler needs to serve one {@link CRUDPathProperties} node, resolved once.
+ */
+@Value
+@Builder
+class EndpointPlan {
+    @NonNull
+    String path;
+
+    int level;
+
+    @NonNull
+    CrudService<WithId<Serializable>, Serializable> service;
+
+    @NonNull
+    IdMapper<Serializable> idMapper;
+
+    @NonNull
+    IdChainReader idChainReader;
+
+    @NonNull
+    PaginationConverter paginationConverter;
+
+    @NonNull
+    DtoConverter<Serializable, Serializable, WithId<Serializable>> createConverter;
+
+    @NonNull
+    DtoConverter<Serializable, Serializable, WithId<Serializable>> updateConverter;
+
+    @NonNull
+    DtoConverter<Serializable, Serializable, WithId<Serializable>> getConverter;
+
+    @NonNull
+    DtoConverter<Serializable, Serializable, WithId<Serializable>> listConverter;
+
+    @NonNull
+    Class<? extends Serializable> createDtoClass;
+
+    @NonNull
+    Class<? extends Serializable> updateDtoClass;
+
+    @NonNull
+    ParameterizedTypeReference<List<Serializable>> createListType;
+
+    @NonNull
+    ParameterizedTypeReference<List<BulkUpdateItem<Serializable, Serializable>>> updateListType;
+
+    @NonNull
+    EntityTags entityTags;
+
+    @NonNull
+    MergePatch mergePatch;
+
+    @NonNull
+    FieldSelector fieldSelector;
+
+    @NonNull
+    ObjectMapper objectMapper;
+
+    @NonNull
+    BodyValidator createValidator;
+
+    @NonNull
+    BodyValidator updateValidator;
+
+    Integer pageSize;
+
+    @NonNull
+    IntConsumer pageSizeRecorder;
+
+    int bulkChunkSize;
+}
@@ -0,0 +1,123 @@
+package com.lassis.springframework.crud.configuration;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.function.HandlerFunction;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Dispatches a request to the routes of its endpoint through a trie of path segments, literal ones like
+ * {@code _bulk} tried before {@code {idN}} slots. The values of the slots walked are kept in the request as the ids.
+ */
+final class EndpointTrie implements RouterFunction<ServerResponse> {
+    /**
+     * request attribute holding the values of the {@code {idN}} slots of the path, in order of level
+     */
+    static final String PATH_IDS_ATTRIBUTE = EndpointTrie.class.getName() + ".pathIds";
+
+    private final Node root = new Node();
+
+    /**
+     * @param pattern path pattern, its segments between braces are slots
+     */
+    void add(String pattern, RouterFunction<ServerResponse> routes) {
+        Node node = root;
+        for (String segment : pattern.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+
+            node = segment.startsWith("{") && segment.endsWith("}")
+                    ? node.slot()
+                    : node.literal(segment);
+        }
+
+        if (Objects.nonNull(node.routes) && node.routes != routes) {
+            throw new IllegalStateException("path " + pattern + " is mapped to more than one endpoint");
+        }
+        node.routes = routes;
+    }
+
+    @Override
+    public Optional<HandlerFunction<ServerResponse>> route(ServerRequest request) {
+        List<String> segments = segments(request.requestPath().pathWithinApplication());
+        List<String> ids = new ArrayList<>(segments.size() / 2);
+
+        Node node = find(root, segments, 0, ids);
+        if (Objects.isNull(node)) {
+            return Optional.empty();
+        }
+
+        request.attributes().put(PATH_IDS_ATTRIBUTE, ids.toArray(new String[0]));
+        return node.routes.route(request);
+    }
+
+    @Nullable
+    private static Node find(Node node, List<String> segments, int index, List<String> ids) {
+        if (index == segments.size()) {
+            return Objects.isNull(node.routes) ? null : node;
+        }
+
+        String segment = segments.get(index);
+        Node literal = node.literals.get(segment);
+        if (Objects.nonNull(literal)) {
+            Node found = find(literal, segments, index + 1, ids);
+            if (Objects.nonNull(found)) {
+                return found;
+            }
+        }
+
+        if (Objects.isNull(node.slot)) {
+            return null;
+        }
+
+        ids.add(segment);
+        Node found = find(node.slot, segments, index + 1, ids);
+        if (Objects.isNull(found)) {
+            ids.remove(ids.size() - 1);
+        }
+        return found;
+    }
+
+    private static List<String> segments(PathContainer path) {
+        List<String> segments = new ArrayList<>();
+        for (PathContainer.Element element : path.elements()) {
+            if (element instanceof PathContainer.PathSegment) {
+                String value = ((PathContainer.PathSegment) element).valueToMatch();
+                // as path patterns do, a trailing slash is ignored
+                if (!value.isEmpty()) {
+                    segments.add(value);
+                }
+            }
+        }
+        return segments;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>();
+        @Nullable
+        private Node slot;
+        @Nullable
+        private RouterFunction<ServerResponse> routes;
+
+        Node literal(String segment) {
+            return literals.computeIfAbsent(segment, s -> new Node());
+        }
+
+        Node slot() {
+            if (Objects.isNull(slot)) {
+                slot = new Node();
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.pojo.Pagination;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ETags of the responses of an endpoint, weak tags built from the {@code @Version} of the entities or, when the
+ * endpoint enables body tags, the MD5 of the body.
+ */
+final class EntityTags {
+    private static final String VERSION_ANNOTATION = "Version";
+
+    private final ObjectMapper objectMapper;
+    @Nullable
+    private final Field versionField;
+    private final boolean bodyTags;
+
+    private EntityTags(ObjectMapper objectMapper, @Nullable Field versionField, boolean bodyTags) {
+        this.objectMapper = objectMapper;
+        this.versionField = versionField;
+        this.bodyTags = bodyTags;
+    }
+
+    /**
+     * the version field is recognized by the simple name of its annotation, so both the JPA and the Spring Data
+     * {@code @Version} are accepted
+     */
+    static EntityTags of(Class<?> entityClass, ObjectMapper objectMapper, boolean bodyTags) {
+        AtomicReference<Field> found = new AtomicReference<>();
+        ReflectionUtils.doWithFields(entityClass, found::set, field -> Objects.isNull(found.get()) && isVersion(field));
+
+        Field versionField = found.get();
+        if (Objects.nonNull(versionField)) {
+            ReflectionUtils.makeAccessible(versionField);
+        }
+        return new EntityTags(objectMapper, versionField, bodyTags);
+    }
+
+    private static boolean isVersion(Field field) {
+        return Arrays.stream(field.getAnnotations())
+                .anyMatch(a -> VERSION_ANNOTATION.equals(a.annotationType().getSimpleName()));
+    }
+
+    boolean hasVersion() {
+        return Objects.nonNull(versionField);
+    }
+
+    boolean hasBodyTags() {
+        return bodyTags;
+    }
+
+    /**
+     * @return the weak tag of the version, null when the entity has no version
+     */
+    @Nullable
+    String ofVersion(@Nullable Object version) {
+        return Objects.isNull(version) ? null : "W/\"" + version + "\"";
+    }
+
+    /**
+     * @return the weak tag of the entity version, null when the entity has no version
+     */
+    @Nullable
+    String ofEntity(WithId<Serializable> entity) {
+        return Objects.isNull(versionField) ? null : ofVersion(ReflectionUtils.getField(versionField, entity));
+    }
+
+    /**
+     * @return the weak tag of the ids and versions of the page, null when the entities have no version
+     */
+    @Nullable
+    String ofSlice(Slice<WithId<Serializable>> slice, Pagination pagination) {
+        if (Objects.isNull(versionField)) {
+            return null;
+        }
+
+        StringBuilder content = new StringBuilder()
+                .append(pagination.getFirst()).append('|')
+                .append(pagination.getPrev()).append('|')
+                .append(pagination.getNext());
+        for (WithId<Serializable> entity : slice) {
+            content.append('|').append(entity.getId()).append(':').append(ReflectionUtils.getField(versionField, entity));
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    byte[] serialize(Object body) throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    String ofBytes(byte[] body) {
+        return "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+}
@@ -0,0 +1,87 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.function.ServerRequest;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Sparse fieldsets of an endpoint. The id is always selected, and the field names must be the same in the entity and in
+ * its dtos.
+ */
+final class FieldSelector {
+    static final String PARAM_FIELDS = "fields";
+    private static final String FILTER_ID = "crudFields";
+    private static final String ID = "id";
+    private static final FieldSelector NONE = new FieldSelector(Collections.emptySet(), null);
+
+    private final Set<String> selectable;
+    @Nullable
+    private final ObjectMapper objectMapper;
+
+    private FieldSelector(Set<String> selectable, @Nullable ObjectMapper objectMapper) {
+        this.selectable = selectable;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @param selectable fields the endpoint lets select, null or empty when the endpoint has no sparse fieldsets
+     */
+    static FieldSelector of(ObjectMapper objectMapper, @Nullable Set<String> selectable, Class<?>... dtoClasses) {
+        if (Objects.isNull(selectable) || selectable.isEmpty()) {
+            return NONE;
+        }
+
+        // a copy, so the filter only applies to the responses written by this selector
+        ObjectMapper filtered = objectMapper.copy();
+        for (Class<?> dtoClass : dtoClasses) {
+            filtered.addMixIn(dtoClass, Filtered.class);
+        }
+
+        Set<String> fields = new LinkedHashSet<>(selectable);
+        fields.add(ID);
+        return new FieldSelector(Collections.unmodifiableSet(fields), filtered);
+    }
+
+    /**
+     * @return the selected fields with the id, empty when the request does not select any
+     * @throws IllegalArgumentException when a field cannot be selected
+     */
+    Optional<Set<String>> select(ServerRequest req) {
+        Optional<String> param = req.param(PARAM_FIELDS).filter(StringUtils::hasText);
+        if (!param.isPresent()) {
+            return Optional.empty();
+        }
+
+        Set<String> fields = new LinkedHashSet<>();
+        fields.add(ID);
+        for (String field : StringUtils.commaDelimitedListToSet(param.get())) {
+            String name = field.trim();
+            if (!selectable.contains(name)) {
+                throw new IllegalArgumentException("field <" + name + "> cannot be selected");
+            }
+            fields.add(name);
+        }
+        return Optional.of(fields);
+    }
+
+    byte[] serialize(Object body, Set<String> fields) throws JsonProcessingException {
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+                .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+        return Objects.requireNonNull(objectMapper).writer(filters).writeValueAsBytes(body);
+    }
+
+    @JsonFilter(FILTER_ID)
+    private interface Filtered {
+    }
+}
@@ -0,0 +1,62 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.lassis.springframework.crud.service.IdChain;
+import org.springframework.web.servlet.function.ServerRequest;
+
+import java.io.Serializable;
+
+/**
+ * Reads the ids of one endpoint level from the values kept by the {@link EndpointTrie}, or from the path variables.
+ */
+final class IdChainReader {
+    private final IdMapper<Serializable> idMapper;
+    private final String[] chainVarNames;
+    private final String idVarName;
+
+    private IdChainReader(IdMapper<Serializable> idMapper, int level) {
+        this.idMapper = idMapper;
+        this.chainVarNames = new String[level];
+        for (int i = 0; i < level; i++) {
+            chainVarNames[i] = "id" + i;
+        }
+        this.idVarName = "id" + level;
+    }
+
+    static IdChainReader of(IdMapper<Serializable> idMapper, int level) {
+        return new IdChainReader(idMapper, level);
+    }
+
+    /**
+     * @return the ids of all parents of this level
+     */
+    IdChain<Serializable> chain(ServerRequest req) {
+        if (chainVarNames.length == 0) {
+            return IdChain.empty();
+        }
+
+        Serializable[] ids = new Serializable[chainVarNames.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idMapper.apply(segment(req, i));
+        }
+        return IdChain.wrap(ids);
+    }
+
+    /**
+     * @return the id of the element at this level
+     */
+    Serializable id(ServerRequest req) {
+        return idMapper.apply(segment(req, chainVarNames.length));
+    }
+
+    /**
+     * @param index level of the id
+     */
+    private String segment(ServerRequest req, int index) {
+        Object pathIds = req.attributes().get(EndpointTrie.PATH_IDS_ATTRIBUTE);
+        if (pathIds instanceof String[] && ((String[]) pathIds).length > index) {
+            return ((String[]) pathIds)[index];
+        }
+
+        return req.pathVariable(index < chainVarNames.length ? chainVarNames[index] : idVarName);
+    }
+}
@@ -0,0 +1,61 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Reads the JSON merge patches (RFC 7396) of one dto class, along with the names of the properties they set.
+ */
+final class MergePatch {
+    private final ObjectMapper objectMapper;
+    private final Class<? extends Serializable> dtoClass;
+    private final Map<String, String> propertyNames;
+
+    private MergePatch(ObjectMapper objectMapper, Class<? extends Serializable> dtoClass, Map<String, String> propertyNames) {
+        this.objectMapper = objectMapper;
+        this.dtoClass = dtoClass;
+        this.propertyNames = propertyNames;
+    }
+
+    static MergePatch of(ObjectMapper objectMapper, Class<? extends Serializable> dtoClass) {
+        BeanDescription description = objectMapper.getDeserializationConfig()
+                .introspect(objectMapper.constructType(dtoClass));
+
+        Map<String, String> propertyNames = new HashMap<>();
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (property.couldDeserialize() && (property.hasField() || property.hasGetter())) {
+                propertyNames.put(property.getName(), property.getInternalName());
+            }
+        }
+        return new MergePatch(objectMapper, dtoClass, propertyNames);
+    }
+
+    Serializable read(JsonNode patch) throws JsonProcessingException {
+        return objectMapper.treeToValue(patch, dtoClass);
+    }
+
+    /**
+     * @return java names of the dto properties set by the patch, unknown names are left out
+     */
+    Set<String> properties(JsonNode patch) {
+        Set<String> properties = new LinkedHashSet<>();
+        for (Iterator<String> names = patch.fieldNames(); names.hasNext(); ) {
+            String property = propertyNames.get(names.next());
+            if (Objects.nonNull(property)) {
+                properties.add(property);
+            }
+        }
+        return properties;
+    }
+}
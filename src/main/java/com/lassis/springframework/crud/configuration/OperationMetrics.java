@@ -0,0 +1,81 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.lassis.springframework.crud.exception.RelationshipNotFoundException;
+import com.lassis.springframework.crud.metrics.DbCallCounter;
+import com.lassis.springframework.crud.metrics.OperationRecorder;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.function.HandlerFilterFunction;
+import org.springframework.web.servlet.function.HandlerFunction;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+/**
+ * Times the requests of an endpoint by operation and outcome and counts their database calls. The body of a streamed
+ * response is written after it returns and is not measured.
+ */
+final class OperationMetrics implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+    static final String CREATE = "create";
+    static final String GET = "get";
+    static final String LIST = "list";
+    static final String UPDATE = "update";
+    static final String DELETE = "delete";
+
+    static final String OK = "ok";
+    static final String NOT_FOUND = "not-found";
+    static final String RELATIONSHIP_NOT_FOUND = "relationship-not-found";
+    static final String VALIDATION = "validation";
+    static final String ERROR = "error";
+
+    private final OperationRecorder recorder;
+    private final String idVariable;
+
+    OperationMetrics(OperationRecorder recorder, String idVariable) {
+        this.recorder = recorder;
+        this.idVariable = idVariable;
+    }
+
+    @Override
+    public ServerResponse filter(ServerRequest req, HandlerFunction<ServerResponse> next) throws Exception {
+        String outcome = ERROR;
+        long start = System.nanoTime();
+        DbCallCounter.start();
+        try {
+            ServerResponse response = next.handle(req);
+            outcome = outcome(response.statusCode());
+            return response;
+        } catch (RelationshipNotFoundException e) {
+            outcome = RELATIONSHIP_NOT_FOUND;
+            throw e;
+        } catch (Exception e) {
+            outcome = outcome(CRUDAPIConfiguration.statusOf(e));
+            throw e;
+        } finally {
+            recorder.record(operation(req), outcome, System.nanoTime() - start, DbCallCounter.stop());
+        }
+    }
+
+    String operation(ServerRequest req) {
+        HttpMethod method = req.method();
+        if (HttpMethod.POST.equals(method)) {
+            return CREATE;
+        }
+        if (HttpMethod.PUT.equals(method) || HttpMethod.PATCH.equals(method)) {
+            return UPDATE;
+        }
+        if (HttpMethod.DELETE.equals(method)) {
+            return DELETE;
+        }
+        return req.pathVariables().containsKey(idVariable) ? GET : LIST;
+    }
+
+    static String outcome(HttpStatus status) {
+        if (status == HttpStatus.NOT_FOUND) {
+            return NOT_FOUND;
+        }
+        if (status == HttpStatus.BAD_REQUEST) {
+            return VALIDATION;
+        }
+        return status.isError() ? ERROR : OK;
+    }
+}
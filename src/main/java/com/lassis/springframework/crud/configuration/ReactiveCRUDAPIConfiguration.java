@@ -0,0 +1,292 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.lassis.springframework.crud.api.PaginationConverter;
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.exception.ValidationException;
+import com.lassis.springframework.crud.metrics.CrudMetrics;
+import com.lassis.springframework.crud.pojo.BodyValidation;
+import com.lassis.springframework.crud.pojo.DtoType;
+import com.lassis.springframework.crud.pojo.Result;
+import com.lassis.springframework.crud.service.BeforeSave;
+import com.lassis.springframework.crud.service.BlockingReactiveCrudService;
+import com.lassis.springframework.crud.service.CrudService;
+import com.lassis.springframework.crud.service.DtoConverter;
+import com.lassis.springframework.crud.service.GenericUpdateValuesSetter;
+import com.lassis.springframework.crud.service.IdChain;
+import com.lassis.springframework.crud.service.MultiLevelReactiveCrudService;
+import com.lassis.springframework.crud.service.ReactiveCrudService;
+import com.lassis.springframework.crud.service.ReactiveParentChildResolver;
+import com.lassis.springframework.crud.service.SimpleReactiveCrudService;
+import com.lassis.springframework.crud.service.UpdateValuesSetter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.validation.Validator;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+
+import static com.lassis.springframework.crud.configuration.CRUDAPIConfiguration.getDtoConverter;
+import static com.lassis.springframework.crud.configuration.CRUDAPIConfiguration.getPaginationConverter;
+import static com.lassis.springframework.crud.configuration.CRUDAPIConfiguration.resolve;
+import static com.lassis.springframework.crud.configuration.CRUDAPIConfiguration.toViolations;
+import static org.springframework.core.ResolvableType.forClassWithGenerics;
+import static org.springframework.web.reactive.function.server.RequestPredicates.path;
+
+/**
+ * WebFlux counterpart of the router built by {@link CRUDAPIConfiguration}, serving create, get, list, update and delete.
+ * Endpoints without a {@link ReactiveCrudService} or a {@link ReactiveSortingRepository} run their blocking
+ * {@link CrudService} on the bounded elastic scheduler.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnClass(name = "org.springframework.web.reactive.function.server.RouterFunction")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+class ReactiveCRUDAPIConfiguration {
+
+    private final ApplicationContext context;
+    private final CRUDProperties config;
+
+    @Bean
+    RouterFunction<ServerResponse> reactiveCrudRouterFunction(PaginationConverter paginationManager,
+                                                              Validator validator,
+                                                              CrudMetrics metrics) {
+        RouterFunctions.Builder route = RouterFunctions.route();
+        Scheduler blockingScheduler = Schedulers.boundedElastic();
+
+        for (CRUDPathProperties endpoint : config.getEndpoints()) {
+            String path = config.getBasePath() + endpoint.getPath();
+            route = createRoute(route, endpoint, paginationManager, validator, metrics, blockingScheduler, path, 0);
+        }
+
+        return route.build();
+    }
+
+    private RouterFunctions.Builder createRoute(RouterFunctions.Builder route,
+                                                CRUDPathProperties endpoint,
+                                                PaginationConverter paginationManager,
+                                                Validator validator,
+                                                CrudMetrics metrics,
+                                                Scheduler blockingScheduler,
+                                                String path,
+                                                int level) {
+
+        final String pathVar = "/{id" + level + "}";
+        final ReactiveEndpointPlan plan = createPlan(endpoint, paginationManager, validator, metrics, blockingScheduler, path, level);
+
+        route = route.nest(path(path), builder -> {
+            if (endpoint.getMethods().contains(HttpMethod.GET)) {
+                builder.GET("", req -> retrieve(req, plan))
+                        .GET(pathVar, req -> retrieveById(req, plan));
+            }
+
+            if (endpoint.getMethods().contains(HttpMethod.POST)) {
+                builder.POST("", req -> create(req, plan));
+            }
+
+            if (endpoint.getMethods().contains(HttpMethod.PUT)) {
+                builder.PUT(pathVar, req -> update(req, plan));
+            }
+
+            if (endpoint.getMethods().contains(HttpMethod.DELETE)) {
+                builder.DELETE(pathVar, req -> delete(req, plan));
+            }
+        });
+        log.info("reactive crud endpoint {} was created", path);
+
+        for (CRUDPathProperties sub : endpoint.getEndpoints()) {
+            String subPath = path + pathVar + sub.getPath();
+
+            route = createRoute(route, sub, paginationManager, validator, metrics, blockingScheduler, subPath, level + 1);
+        }
+
+        return route;
+    }
+
+    private ReactiveEndpointPlan createPlan(CRUDPathProperties endpoint,
+                                            PaginationConverter paginationManager,
+                                            Validator validator,
+                                            CrudMetrics metrics,
+                                            Scheduler blockingScheduler,
+                                            String path,
+                                            int level) {
+
+        final Class<? extends Serializable> idClass = config.getIdClass();
+        final IdMapper<Serializable> idMapper = resolve(forClassWithGenerics(IdMapper.class, idClass), context);
+
+        return ReactiveEndpointPlan.builder()
+                .path(path)
+                .level(level)
+                .service(getService(endpoint, blockingScheduler))
+                .idMapper(idMapper)
+                .paginationConverter(getPaginationConverter(endpoint, paginationManager, idMapper))
+                .createConverter(getDtoConverter(context, endpoint, DtoType.POST, DtoType.RESULT))
+                .updateConverter(getDtoConverter(context, endpoint, DtoType.PUT, DtoType.RESULT))
+                .getConverter(getDtoConverter(context, endpoint, DtoType.GET, DtoType.GET))
+                .listConverter(getDtoConverter(context, endpoint, DtoType.LIST, DtoType.LIST))
+                .createDtoClass(endpoint.getDtoClass(DtoType.POST))
+                .updateDtoClass(endpoint.getDtoClass(DtoType.PUT))
+                .createValidator(BodyValidator.of(validator, endpoint.getDtoClass(DtoType.POST), metrics.isEnabled(), metrics.validation(path)))
+                .updateValidator(BodyValidator.of(validator, endpoint.getDtoClass(DtoType.PUT), metrics.isEnabled(), metrics.validation(path)))
+                .pageSize(endpoint.getPageSize())
+                .build();
+    }
+
+    private ReactiveCrudService<WithId<Serializable>, Serializable> getService(CRUDPathProperties endpoint, Scheduler blockingScheduler) {
+        final Class<? extends WithId<? extends Serializable>> clazz = endpoint.getEntityClass();
+        final Class<? extends Serializable> idClass = config.getIdClass();
+
+        return resolve(forClassWithGenerics(ReactiveCrudService.class, clazz, idClass), context, () -> {
+            ReactiveCrudService<WithId<Serializable>, Serializable> reactive = createReactiveServiceChain(endpoint);
+            if (Objects.nonNull(reactive)) {
+                return reactive;
+            }
+
+            log.debug("no reactive repository of {}, its blocking service is used", clazz);
+            CrudService<WithId<Serializable>, Serializable> blocking = resolve(forClassWithGenerics(CrudService.class, clazz, idClass), context);
+            return new BlockingReactiveCrudService<>(blocking, blockingScheduler);
+        });
+    }
+
+    /**
+     * @return the reactive service of the entity, null when there is no reactive repository of it
+     */
+    @Nullable
+    private ReactiveCrudService<WithId<Serializable>, Serializable> createReactiveServiceChain(CRUDPathProperties endpoint) {
+        final Class<? extends WithId<? extends Serializable>> clazz = endpoint.getEntityClass();
+        final Class<? extends Serializable> idClass = config.getIdClass();
+
+        ResolvableType repositoryType = forClassWithGenerics(ReactiveSortingRepository.class, clazz, idClass);
+        ReactiveSortingRepository<WithId<Serializable>, Serializable> repository = resolve(repositoryType, context, () -> null);
+        if (Objects.isNull(repository)) {
+            return null;
+        }
+
+        BeforeSave<WithId<Serializable>> beforeSave = resolve(forClassWithGenerics(BeforeSave.class, clazz), context, BeforeSave::none);
+        UpdateValuesSetter<WithId<Serializable>> updateSetter = resolve(forClassWithGenerics(UpdateValuesSetter.class, clazz), context,
+                () -> new GenericUpdateValuesSetter<>(Boolean.TRUE.equals(endpoint.getUpdateSkipNulls()), Boolean.TRUE.equals(endpoint.getUpdateOnlyChanged())));
+
+        ReactiveCrudService<WithId<Serializable>, Serializable> service = new SimpleReactiveCrudService<>(repository, beforeSave, updateSetter);
+        for (CRUDPathProperties level = endpoint; Objects.nonNull(level.getParent()); level = level.getParent()) {
+            ResolvableType resolverType = forClassWithGenerics(ReactiveParentChildResolver.class, level.getParent().getEntityClass(), level.getEntityClass(), idClass);
+            ReactiveParentChildResolver<WithId<Serializable>, WithId<Serializable>, Serializable> resolver = resolve(resolverType, context);
+
+            service = new MultiLevelReactiveCrudService<>(service, resolver);
+        }
+        return service;
+    }
+
+    private Mono<ServerResponse> create(ServerRequest req, ReactiveEndpointPlan plan) {
+        IdChain<Serializable> idChain = chain(req, plan);
+        DtoConverter<Serializable, Serializable, WithId<Serializable>> dtoConverter = plan.getCreateConverter();
+
+        return req.bodyToMono(plan.getCreateDtoClass())
+                .flatMap(body -> {
+                    try {
+                        plan.getCreateValidator().validate(body);
+                    } catch (ValidationException e) {
+                        return processValidationException(e);
+                    }
+
+                    return plan.getService().create(idChain, dtoConverter.fromDto(body))
+                            .flatMap(created -> ServerResponse.created(resourceUri(req, created.getId()))
+                                    .bodyValue(Result.of(dtoConverter.toDto(created))));
+                })
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.badRequest().build()));
+    }
+
+    private Mono<ServerResponse> retrieve(ServerRequest req, ReactiveEndpointPlan plan) {
+        IdChain<Serializable> idChain = chain(req, plan);
+        PaginationConverter paginationManager = plan.getPaginationConverter();
+
+        String page = req.queryParam("page").orElseGet(() -> req.headers().header("page").stream().findFirst().orElse(null));
+        Pageable pageable = paginationManager.getPageable(page, req.queryParam("size").orElse(null), plan.getPageSize());
+
+        return plan.getService().all(idChain, pageable)
+                .flatMap(pageContent -> {
+                    List<Serializable> data = pageContent.map(plan.getListConverter()::toDto).getContent();
+                    return ServerResponse.ok().bodyValue(Result.of(data, paginationManager.toPagination(pageContent)));
+                });
+    }
+
+    private Mono<ServerResponse> retrieveById(ServerRequest req, ReactiveEndpointPlan plan) {
+        IdChain<Serializable> idChain = chain(req, plan);
+        Serializable id = id(req, plan);
+
+        return plan.getService().get(idChain, id)
+                .flatMap(entity -> ServerResponse.ok().bodyValue(Result.of(plan.getGetConverter().toDto(entity))));
+    }
+
+    private Mono<ServerResponse> update(ServerRequest req, ReactiveEndpointPlan plan) {
+        IdChain<Serializable> idChain = chain(req, plan);
+        Serializable id = id(req, plan);
+        DtoConverter<Serializable, Serializable, WithId<Serializable>> dtoConverter = plan.getUpdateConverter();
+
+        return req.bodyToMono(plan.getUpdateDtoClass())
+                .flatMap(body -> {
+                    try {
+                        plan.getUpdateValidator().validate(body);
+                    } catch (ValidationException e) {
+                        return processValidationException(e);
+                    }
+
+                    return plan.getService().update(idChain, id, dtoConverter.fromDto(body))
+                            .flatMap(updated -> ServerResponse.ok().bodyValue(Result.of(dtoConverter.toDto(updated))));
+                })
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.badRequest().build()));
+    }
+
+    private Mono<ServerResponse> delete(ServerRequest req, ReactiveEndpointPlan plan) {
+        IdChain<Serializable> idChain = chain(req, plan);
+        Serializable id = id(req, plan);
+
+        return plan.getService().deleteById(idChain, id)
+                .then(ServerResponse.noContent().build());
+    }
+
+    private static IdChain<Serializable> chain(ServerRequest req, ReactiveEndpointPlan plan) {
+        if (plan.getLevel() == 0) {
+            return IdChain.empty();
+        }
+
+        Serializable[] ids = new Serializable[plan.getLevel()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = plan.getIdMapper().apply(req.pathVariable("id" + i));
+        }
+        return IdChain.wrap(ids);
+    }
+
+    private static Serializable id(ServerRequest req, ReactiveEndpointPlan plan) {
+        return plan.getIdMapper().apply(req.pathVariable("id" + plan.getLevel()));
+    }
+
+    private static URI resourceUri(ServerRequest req, Serializable id) {
+        return UriComponentsBuilder.fromUri(req.uri())
+                .replaceQuery(null)
+                .pathSegment(String.valueOf(id))
+                .build(true)
+                .toUri();
+    }
+
+    private static Mono<ServerResponse> processValidationException(ValidationException e) {
+        return ServerResponse.badRequest().bodyValue(new BodyValidation(toViolations(e)));
+    }
+}
@@ -0,0 +1,58 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.lassis.springframework.crud.api.PaginationConverter;
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.service.DtoConverter;
+import com.lassis.springframework.crud.service.ReactiveCrudService;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * Counterpart of {@link EndpointPlan} for the WebFlux router.
+ */
+@Value
+@Builder
+class ReactiveEndpointPlan {
+    @NonNull
+    String path;
+
+    int level;
+
+    @NonNull
+    ReactiveCrudService<WithId<Serializable>, Serializable> service;
+
+    @NonNull
+    IdMapper<Serializable> idMapper;
+
+    @NonNull
+    PaginationConverter paginationConverter;
+
+    @NonNull
+    DtoConverter<Serializable, Serializable, WithId<Serializable>> createConverter;
+
+    @NonNull
+    DtoConverter<Serializable, Serializable, WithId<Serializable>> updateConverter;
+
+    @NonNull
+    DtoConverter<Serializable, Serializable, WithId<Serializable>> getConverter;
+
+    @NonNull
+    DtoConverter<Serializable, Serializable, WithId<Serializable>> listConverter;
+
+    @NonNull
+    Class<? extends Serializable> createDtoClass;
+
+    @NonNull
+    Class<? extends Serializable> updateDtoClass;
+
+    @NonNull
+    BodyValidator createValidator;
+
+    @NonNull
+    BodyValidator updateValidator;
+
+    Integer pageSize;
+}
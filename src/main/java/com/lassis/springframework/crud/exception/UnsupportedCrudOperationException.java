@@ -0,0 +1,12 @@
+package com.lassis.springframework.crud.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.NOT_IMPLEMENTED)
+public class UnsupportedCrudOperationException extends RuntimeException {
+
+    public UnsupportedCrudOperationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.lassis.springframework.crud.metrics;
+
+/**
+ * Counters of a cache kept by the crud services.
+ */
+public interface CacheStatistics {
+
+    long hitCount();
+
+    long missCount();
+
+    long evictionCount();
+
+    long size();
+
+    default double hitRatio() {
+        long requests = hitCount() + missCount();
+        return requests == 0 ? 1.0 : (double) hitCount() / requests;
+    }
+}
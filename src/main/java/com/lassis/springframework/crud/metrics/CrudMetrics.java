@@ -0,0 +1,46 @@
+package com.lassis.springframework.crud.metrics;
+
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Entry point of every metric published by the crud endpoints, the default implementation does nothing.
+ */
+public interface CrudMetrics {
+
+    CrudMetrics NONE = new CrudMetrics() {};
+
+    /**
+     * @return true when the recorded values are published somewhere
+     */
+    default boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * @return consumer of the nanoseconds spent validating a request body
+     */
+    default LongConsumer validation(String endpoint) {
+        return nanos -> {};
+    }
+
+    default void cache(String cache, String endpoint, CacheStatistics statistics) {
+    }
+
+    default void executor(String endpoint, ExecutorStatistics statistics) {
+    }
+
+    /**
+     * @param level nesting level of the endpoint, 0 for a root collection
+     */
+    default OperationRecorder operations(String endpoint, int level) {
+        return OperationRecorder.NONE;
+    }
+
+    /**
+     * @return consumer of the number of entities in a page
+     */
+    default IntConsumer pageSize(String endpoint) {
+        return size -> {};
+    }
+}
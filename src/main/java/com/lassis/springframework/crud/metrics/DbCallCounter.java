@@ -0,0 +1,62 @@
+package com.lassis.springframework.crud.metrics;
+
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Objects;
+
+/**
+ * Counts the calls made by the thread to the repositories wrapped by {@link #counting(Object)} between
+ * {@link #start()} and {@link #stop()}.
+ */
+public final class DbCallCounter {
+    private static final ThreadLocal<int[]> CALLS = new ThreadLocal<>();
+
+    private DbCallCounter() {
+    }
+
+    public static void start() {
+        CALLS.set(new int[1]);
+    }
+
+    /**
+     * @return the calls counted since {@link #start()}, 0 when counting was not started
+     */
+    public static int stop() {
+        int[] calls = CALLS.get();
+        CALLS.remove();
+        return Objects.isNull(calls) ? 0 : calls[0];
+    }
+
+    static void increment() {
+        int[] calls = CALLS.get();
+        if (Objects.nonNull(calls)) {
+            calls[0]++;
+        }
+    }
+
+    /**
+     * @return a proxy implementing every interface of the target, so the capabilities detected with instanceof are kept
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T counting(T target) {
+        Class<?>[] interfaces = ClassUtils.getAllInterfaces(target);
+        return (T) Proxy.newProxyInstance(target.getClass().getClassLoader(), interfaces, (proxy, method, args) -> {
+            if (!isObjectMethod(method)) {
+                increment();
+            }
+
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        });
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        return method.getDeclaringClass() == Object.class;
+    }
+}
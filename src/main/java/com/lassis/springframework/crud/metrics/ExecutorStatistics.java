@@ -0,0 +1,15 @@
+package com.lassis.springframework.crud.metrics;
+
+/**
+ * State of the thread pool running the requests of an endpoint.
+ */
+public interface ExecutorStatistics {
+
+    int poolSize();
+
+    int activeCount();
+
+    int queueDepth();
+
+    long rejectedCount();
+}
@@ -0,0 +1,137 @@
+package com.lassis.springframework.crud.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.BeanFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * {@link CrudMetrics} backed by a Micrometer {@link MeterRegistry}, only loaded when micrometer is in the classpath.
+ */
+@RequiredArgsConstructor
+public class MicrometerCrudMetrics implements CrudMetrics {
+    private static final String TAG_ENDPOINT = "endpoint";
+    private static final String TAG_CACHE = "cache";
+    private static final String TAG_RESULT = "result";
+    private static final String TAG_LEVEL = "level";
+    private static final String TAG_OPERATION = "operation";
+    private static final String TAG_OUTCOME = "outcome";
+
+    private final MeterRegistry registry;
+
+    /**
+     * @return metrics backed by the registry found or {@link CrudMetrics#NONE} when there is no registry
+     */
+    public static CrudMetrics fromBeanFactory(BeanFactory beanFactory) {
+        MeterRegistry registry = beanFactory.getBeanProvider(MeterRegistry.class).getIfAvailable();
+        return Objects.isNull(registry) ? NONE : new MicrometerCrudMetrics(registry);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public LongConsumer validation(String endpoint) {
+        Timer timer = Timer.builder("crud.validation")
+                .description("time spent validating request bodies")
+                .tag(TAG_ENDPOINT, endpoint)
+                .register(registry);
+
+        return nanos -> timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void cache(String cache, String endpoint, CacheStatistics statistics) {
+        FunctionCounter.builder("crud.cache.gets", statistics, CacheStatistics::hitCount)
+                .description("cache lookups that found a value")
+                .tags(TAG_CACHE, cache, TAG_ENDPOINT, endpoint, TAG_RESULT, "hit")
+                .register(registry);
+
+        FunctionCounter.builder("crud.cache.gets", statistics, CacheStatistics::missCount)
+                .description("cache lookups that did not find a value")
+                .tags(TAG_CACHE, cache, TAG_ENDPOINT, endpoint, TAG_RESULT, "miss")
+                .register(registry);
+
+        FunctionCounter.builder("crud.cache.evictions", statistics, CacheStatistics::evictionCount)
+                .description("entries removed because the cache was full or they expired")
+                .tags(TAG_CACHE, cache, TAG_ENDPOINT, endpoint)
+                .register(registry);
+
+        Gauge.builder("crud.cache.hit.ratio", statistics, CacheStatistics::hitRatio)
+                .description("share of cache lookups that found a value")
+                .tags(TAG_CACHE, cache, TAG_ENDPOINT, endpoint)
+                .register(registry);
+
+        Gauge.builder("crud.cache.size", statistics, CacheStatistics::size)
+                .description("entries in the cache")
+                .tags(TAG_CACHE, cache, TAG_ENDPOINT, endpoint)
+                .register(registry);
+    }
+
+    @Override
+    public void executor(String endpoint, ExecutorStatistics statistics) {
+        Gauge.builder("crud.executor.queued", statistics, ExecutorStatistics::queueDepth)
+                .description("requests waiting for a thread of the endpoint")
+                .tag(TAG_ENDPOINT, endpoint)
+                .register(registry);
+
+        Gauge.builder("crud.executor.active", statistics, ExecutorStatistics::activeCount)
+                .description("threads of the endpoint running a request")
+                .tag(TAG_ENDPOINT, endpoint)
+                .register(registry);
+
+        Gauge.builder("crud.executor.pool.size", statistics, ExecutorStatistics::poolSize)
+                .description("threads of the endpoint")
+                .tag(TAG_ENDPOINT, endpoint)
+                .register(registry);
+
+        FunctionCounter.builder("crud.executor.rejected", statistics, ExecutorStatistics::rejectedCount)
+                .description("requests answered with 503 because the queue of the endpoint was full")
+                .tag(TAG_ENDPOINT, endpoint)
+                .register(registry);
+    }
+
+    @Override
+    public OperationRecorder operations(String endpoint, int level) {
+        String levelTag = String.valueOf(level);
+        Map<String, Timer> timers = new ConcurrentHashMap<>();
+        Map<String, DistributionSummary> dbCalls = new ConcurrentHashMap<>();
+
+        return (operation, outcome, nanos, calls) -> {
+            timers.computeIfAbsent(operation + ':' + outcome, key -> Timer.builder("crud.requests")
+                            .description("time spent handling requests")
+                            .tags(TAG_ENDPOINT, endpoint, TAG_LEVEL, levelTag, TAG_OPERATION, operation, TAG_OUTCOME, outcome)
+                            .register(registry))
+                    .record(nanos, TimeUnit.NANOSECONDS);
+
+            dbCalls.computeIfAbsent(operation, key -> DistributionSummary.builder("crud.requests.db.calls")
+                            .description("calls made to the database by a request")
+                            .tags(TAG_ENDPOINT, endpoint, TAG_LEVEL, levelTag, TAG_OPERATION, operation)
+                            .register(registry))
+                    .record(calls);
+        };
+    }
+
+    @Override
+    public IntConsumer pageSize(String endpoint) {
+        DistributionSummary summary = DistributionSummary.builder("crud.page.size")
+                .description("entities returned by list requests")
+                .tag(TAG_ENDPOINT, endpoint)
+                .publishPercentileHistogram()
+                .register(registry);
+
+        return summary::record;
+    }
+}
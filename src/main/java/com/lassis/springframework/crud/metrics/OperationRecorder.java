@@ -0,0 +1,15 @@
+package com.lassis.springframework.crud.metrics;
+
+/**
+ * Records the requests handled by an endpoint.
+ */
+public interface OperationRecorder {
+
+    OperationRecorder NONE = (operation, outcome, nanos, dbCalls) -> {};
+
+    /**
+     * @param operation one of create, get, list, update or delete
+     * @param outcome   one of ok, not-found, relationship-not-found, validation or error
+     */
+    void record(String operation, String outcome, long nanos, int dbCalls);
+}
@@ -0,0 +1,14 @@
+package com.lassis.springframework.crud.pojo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Value;
+
+/**
+ * Outcome of a bulk delete, {@code requested} is absent when all children of a parent are deleted
+ */
+@Value(staticConstructor = "of")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkDeleteResult {
+    Integer requested;
+    long deleted;
+}
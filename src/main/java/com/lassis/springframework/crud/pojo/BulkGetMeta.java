@@ -0,0 +1,15 @@
+package com.lassis.springframework.crud.pojo;
+
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Meta of a read by many ids, {@code missing} lists the ids that were not found or are not children of the parent
+ */
+@Value(staticConstructor = "of")
+public class BulkGetMeta {
+    int requested;
+    List<Serializable> missing;
+}
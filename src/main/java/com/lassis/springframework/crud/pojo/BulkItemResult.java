@@ -0,0 +1,38 @@
+package com.lassis.springframework.crud.pojo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.lassis.springframework.crud.pojo.BodyValidation.BodyContent;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.springframework.http.HttpStatus;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * Outcome of one element of a bulk request, {@code index} is its position in the request body.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResult {
+    int index;
+    int status;
+    Serializable id;
+    Serializable data;
+    Set<BodyContent> violations;
+    String reason;
+
+    public static BulkItemResult of(int index, HttpStatus status, Serializable id, Serializable data) {
+        return new BulkItemResult(index, status.value(), id, data, null, null);
+    }
+
+    public static BulkItemResult invalid(int index, Set<BodyContent> violations) {
+        return new BulkItemResult(index, HttpStatus.BAD_REQUEST.value(), null, null, violations, null);
+    }
+
+    public static BulkItemResult failed(int index, HttpStatus status, Serializable id, String reason) {
+        return new BulkItemResult(index, status.value(), id, null, null, reason);
+    }
+}
@@ -0,0 +1,18 @@
+package com.lassis.springframework.crud.pojo;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+/**
+ * Element of a bulk update request
+ *
+ * @param <I> id type
+ * @param <T> body type
+ */
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BulkUpdateItem<I, T> {
+    I id;
+    T body;
+}
@@ -0,0 +1,5 @@
+package com.lassis.springframework.crud.pojo;
+
+public enum PaginationType {
+    OFFSET, SLICE, KEYSET
+}
@@ -0,0 +1,140 @@
+package com.lassis.springframework.crud.service;
+
+import org.springframework.beans.FatalBeanException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Constructors, getters and setters linked once with {@link LambdaMetafactory} when they are public, called through
+ * their {@link MethodHandle} otherwise.
+ */
+final class Accessors {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Supplier.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Function.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(BiConsumer.class);
+
+    private Accessors() {
+    }
+
+    /**
+     * @throws FatalBeanException when the class has no constructor without arguments
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Supplier<T> constructor(Class<T> type) {
+        Constructor<T> constructor;
+        MethodHandle handle;
+        try {
+            constructor = ReflectionUtils.accessibleConstructor(type);
+            handle = LOOKUP.unreflectConstructor(constructor);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new FatalBeanException("could not access the constructor without arguments of " + type.getName(), e);
+        }
+
+        if (Modifier.isPublic(constructor.getModifiers()) && isLinkable(type)) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "get", CONSTRUCTOR_TYPE,
+                        MethodType.methodType(Object.class), handle, handle.type());
+                return (Supplier<T>) site.getTarget().invoke();
+            } catch (Throwable e) {
+                // the method handle below works for every accessible constructor
+            }
+        }
+
+        MethodHandle generic = handle.asType(MethodType.methodType(Object.class));
+        return () -> {
+            try {
+                return (T) generic.invokeExact();
+            } catch (Throwable e) {
+                throw new FatalBeanException("could not instantiate " + type.getName(), e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Class<?> type, Method method) {
+        MethodHandle handle = unreflect(method);
+
+        if (isLinkable(type, method)) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "apply", GETTER_TYPE,
+                        MethodType.methodType(Object.class, Object.class), handle, handle.type().wrap());
+                return (Function<Object, Object>) site.getTarget().invoke();
+            } catch (Throwable e) {
+                // the method handle below works for every accessible method
+            }
+        }
+
+        MethodHandle generic = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return bean -> {
+            try {
+                return generic.invokeExact(bean);
+            } catch (Throwable e) {
+                throw new FatalBeanException("could not read property of " + type.getName() + " with " + method.getName(), e);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    static BiConsumer<Object, Object> setter(Class<?> type, Method method) {
+        MethodHandle handle = unreflect(method);
+
+        if (isLinkable(type, method)) {
+            try {
+                CallSite site = LambdaMetafactory.metafactory(LOOKUP, "accept", SETTER_TYPE,
+                        MethodType.methodType(void.class, Object.class, Object.class), handle, handle.type().wrap().changeReturnType(void.class));
+                return (BiConsumer<Object, Object>) site.getTarget().invoke();
+            } catch (Throwable e) {
+                // the method handle below works for every accessible method
+            }
+        }
+
+        MethodHandle generic = handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return (bean, value) -> {
+            try {
+                generic.invokeExact(bean, value);
+            } catch (Throwable e) {
+                throw new FatalBeanException("could not write property of " + type.getName() + " with " + method.getName(), e);
+            }
+        };
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        ReflectionUtils.makeAccessible(method);
+        try {
+            return LOOKUP.unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new FatalBeanException("could not access " + method, e);
+        }
+    }
+
+    /**
+     * the generated lambda class lives in this library, so it can only call public methods of public classes loaded by
+     * a class loader it sees
+     */
+    private static boolean isLinkable(Class<?> type, Method method) {
+        Class<?> valueType = method.getParameterCount() == 0 ? method.getReturnType() : method.getParameterTypes()[0];
+
+        return Modifier.isPublic(method.getModifiers())
+                && isLinkable(type)
+                && isLinkable(method.getDeclaringClass())
+                && isLinkable(valueType);
+    }
+
+    private static boolean isLinkable(Class<?> type) {
+        return type.isPrimitive()
+                || Modifier.isPublic(type.getModifiers()) && ClassUtils.isVisible(type, Accessors.class.getClassLoader());
+    }
+}
@@ -0,0 +1,37 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.entity.WithId;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Checks the whole chain of parents of a nested entity with one query, instead of one per level.
+ * For {@code /products/{id0}/details/{id1}/languages/{id2}} the ancestors are {@code [id0, id1]}.
+ *
+ * @param <E> entity at the deepest level
+ * @param <I> id type
+ */
+public interface AncestryResolver<E extends WithId<I>, I extends Serializable> {
+
+    /**
+     * @return true when every id of the chain is a child of the previous one
+     */
+    boolean existsAncestry(IdChain<I> ancestors);
+
+    /**
+     * @return the entity if it exists and its parents are the given ancestors
+     */
+    Optional<E> findByAncestry(IdChain<I> ancestors, I i);
+
+    default boolean existsByAncestry(IdChain<I> ancestors, I i) {
+        return findByAncestry(ancestors, i).isPresent();
+    }
+
+    /**
+     * @return the given ids whose parents are the given ancestors, checked with a single query
+     */
+    Set<I> findIdsByAncestry(IdChain<I> ancestors, Collection<I> ids);
+}
@@ -0,0 +1,25 @@
+package com.lassis.springframework.crud.service;
+
+import java.io.Serializable;
+import java.util.Collection;
+
+/**
+ * Capability of a repository to delete many entities with a single statement, declared with a bulk query:
+ * <pre>
+ * &#64;Modifying(clearAutomatically = true)
+ * &#64;Transactional
+ * &#64;Query("delete from Product p where p.id in :ids")
+ * int deleteByIdIn(&#64;Param("ids") Collection&lt;Long&gt; ids);
+ * </pre>
+ * The statement runs in the database only: cascades and {@code @PreRemove} callbacks are skipped, and copies
+ * already loaded in the persistence context stay there unless it is cleared.
+ *
+ * @param <I> id type
+ */
+public interface BatchDeleteRepository<I extends Serializable> {
+
+    /**
+     * @return how many rows were deleted
+     */
+    int deleteByIdIn(Collection<I> ids);
+}
@@ -0,0 +1,44 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.entity.WithId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.Serializable;
+
+/**
+ * Adapts a blocking {@link CrudService} to the WebFlux router, every call runs on the given bounded scheduler.
+ */
+@RequiredArgsConstructor
+public class BlockingReactiveCrudService<E extends WithId<I>, I extends Serializable> implements ReactiveCrudService<E, I> {
+    private final CrudService<E, I> delegateTo;
+    private final Scheduler scheduler;
+
+    @Override
+    public Mono<E> create(IdChain<I> chain, E obj) {
+        return Mono.fromCallable(() -> delegateTo.create(chain, obj)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<E> update(IdChain<I> chain, I i, E obj) {
+        return Mono.fromCallable(() -> delegateTo.update(chain, i, obj)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<E> get(IdChain<I> chain, I i) {
+        return Mono.fromCallable(() -> delegateTo.get(chain, i)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Slice<E>> all(IdChain<I> chain, Pageable pageable) {
+        return Mono.fromCallable(() -> delegateTo.all(chain, pageable)).subscribeOn(scheduler);
+    }
+
+    @Override
+    public Mono<Void> deleteById(IdChain<I> chain, I i) {
+        return Mono.<Void>fromRunnable(() -> delegateTo.deleteById(chain, i)).subscribeOn(scheduler);
+    }
+}
@@ -0,0 +1,179 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.metrics.CacheStatistics;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Size bounded cache whose entries expire after a fixed time, split in LRU segments locked independently.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class BoundedCache<K, V> implements CacheStatistics {
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    BoundedCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    BoundedCache(int maxSize, Duration ttl, LongSupplier ticker) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("cache max size must be positive");
+        }
+
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxSize));
+        int segmentSize = (maxSize + segmentCount - 1) / segmentCount;
+
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentSize, evictions);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.ticker = ticker;
+    }
+
+    @Nullable
+    V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        long now = ticker.getAsLong();
+
+        synchronized (segment) {
+            CachedValue<V> entry = segment.get(key);
+            if (entry != null && now - entry.expiresAt < 0) {
+                hits.increment();
+                return entry.value;
+            }
+
+            if (entry != null) {
+                segment.remove(key);
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        return null;
+    }
+
+    void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        CachedValue<V> entry = new CachedValue<>(value, ticker.getAsLong() + ttlNanos);
+
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
+    }
+
+    long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * puts the value unless an entry was invalidated since the stamp was taken, the value may be older than that
+     */
+    void put(K key, V value, long stamp) {
+        Segment<K, V> segment = segmentFor(key);
+        CachedValue<V> entry = new CachedValue<>(value, ticker.getAsLong() + ttlNanos);
+
+        synchronized (segment) {
+            if (invalidations.get() == stamp) {
+                segment.put(key, entry);
+            }
+        }
+    }
+
+    void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+
+        synchronized (segment) {
+            invalidations.incrementAndGet();
+            segment.remove(key);
+        }
+    }
+
+    void invalidateAll() {
+        invalidations.incrementAndGet();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    @Override
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private static final class CachedValue<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private CachedValue(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, CachedValue<V>> {
+        private final int capacity;
+        private final transient LongAdder evictions;
+
+        private Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.metrics.CacheStatistics;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Keeps copies of the entities read by id in a bounded cache. Only calls with an empty chain are cached, and changes
+ * made without going through this service are seen once their entries expire.
+ *
+ * @param <E> entity type
+ * @param <I> id type
+ */
+public class CachingCrudService<E extends WithId<I>, I extends Serializable> implements CrudService<E, I> {
+    private final CrudService<E, I> delegateTo;
+    private final PropertyCopier<E> copier;
+    private final BoundedCache<I, E> cache;
+
+    @SuppressWarnings("unchecked")
+    public CachingCrudService(CrudService<E, I> delegateTo, Class<?> entityClass, int maxSize, Duration ttl) {
+        this.delegateTo = delegateTo;
+        this.copier = PropertyCopier.of((Class<E>) entityClass, false, false);
+        this.cache = new BoundedCache<>(maxSize, ttl);
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache;
+    }
+
+    @Override
+    public E create(IdChain<I> chain, E obj) {
+        return delegateTo.create(chain, obj);
+    }
+
+    @Override
+    public E create(IdChain<I> chain, E obj, boolean refresh) {
+        return delegateTo.create(chain, obj, refresh);
+    }
+
+    @Override
+    public List<E> createAll(IdChain<I> chain, List<E> objs) {
+        return delegateTo.createAll(chain, objs);
+    }
+
+    @Override
+    public E update(IdChain<I> chain, I i, E obj) {
+        return invalidating(i, () -> delegateTo.update(chain, i, obj));
+    }
+
+    @Override
+    public E update(IdChain<I> chain, I i, E obj, boolean refresh) {
+        return invalidating(i, () -> delegateTo.update(chain, i, obj, refresh));
+    }
+
+    @Override
+    public E patch(IdChain<I> chain, I i, E obj, Set<String> properties) {
+        return invalidating(i, () -> delegateTo.patch(chain, i, obj, properties));
+    }
+
+    @Override
+    public Map<I, E> updateAll(IdChain<I> chain, Map<I, E> objs) {
+        return invalidating(objs.keySet(), () -> delegateTo.updateAll(chain, objs));
+    }
+
+    @Override
+    public E get(IdChain<I> chain, I i) {
+        if (!chain.isEmpty()) {
+            return delegateTo.get(chain, i);
+        }
+
+        E cached = cache.get(i);
+        if (Objects.nonNull(cached)) {
+            return copyOf(cached);
+        }
+
+        long stamp = cache.stamp();
+        E entity = delegateTo.get(chain, i);
+        cache.put(i, copyOf(entity), stamp);
+        return entity;
+    }
+
+    /**
+     * partial entities read from the delegate are not cached
+     */
+    @Override
+    public E get(IdChain<I> chain, I i, Set<String> properties) {
+        if (!chain.isEmpty()) {
+            return delegateTo.get(chain, i, properties);
+        }
+
+        E cached = cache.get(i);
+        if (Objects.isNull(cached)) {
+            return delegateTo.get(chain, i, properties);
+        }
+
+        E partial = BeanUtils.instantiateClass(copier.getType());
+        copier.copy(cached, partial, properties);
+        return partial;
+    }
+
+    @Override
+    public Slice<E> all(IdChain<I> chain, Pageable pageable, Set<String> properties) {
+        return delegateTo.all(chain, pageable, properties);
+    }
+
+    @Override
+    public Optional<Object> getVersion(IdChain<I> chain, I i) {
+        return delegateTo.getVersion(chain, i);
+    }
+
+    @Override
+    public Map<I, E> getAll(IdChain<I> chain, Collection<I> ids) {
+        if (!chain.isEmpty()) {
+            return delegateTo.getAll(chain, ids);
+        }
+
+        Map<I, E> found = new LinkedHashMap<>();
+        List<I> missing = new ArrayList<>();
+        for (I i : ids) {
+            E cached = cache.get(i);
+            if (Objects.nonNull(cached)) {
+                found.put(i, copyOf(cached));
+            } else {
+                missing.add(i);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            long stamp = cache.stamp();
+            delegateTo.getAll(chain, missing).forEach((i, entity) -> {
+                cache.put(i, copyOf(entity), stamp);
+                found.put(i, entity);
+            });
+        }
+        return found;
+    }
+
+    @Override
+    public Slice<E> all(IdChain<I> chain, Pageable pageable) {
+        return delegateTo.all(chain, pageable);
+    }
+
+    @Override
+    public void deleteById(IdChain<I> chain, I i) {
+        invalidating(i, () -> {
+            delegateTo.deleteById(chain, i);
+            return null;
+        });
+    }
+
+    @Override
+    public long deleteAllById(IdChain<I> chain, Collection<I> ids) {
+        return invalidating(ids, () -> delegateTo.deleteAllById(chain, ids));
+    }
+
+    @Override
+    public long deleteAll(IdChain<I> chain) {
+        long deleted = delegateTo.deleteAll(chain);
+        cache.invalidateAll();
+        return deleted;
+    }
+
+    @Override
+    public void entitiesChanged() {
+        cache.invalidateAll();
+        delegateTo.entitiesChanged();
+    }
+
+    private E copyOf(E entity) {
+        E copy = BeanUtils.instantiateClass(copier.getType());
+        copier.copy(entity, copy);
+        return copy;
+    }
+
+    /**
+     * a reader may put back an entity while it is written
+     */
+    private <R> R invalidating(I i, Supplier<R> write) {
+        return invalidating(Collections.singleton(i), write);
+    }
+
+    private <R> R invalidating(Collection<I> ids, Supplier<R> write) {
+        ids.forEach(cache::invalidate);
+        try {
+            return write.get();
+        } finally {
+            ids.forEach(cache::invalidate);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.metrics.CacheStatistics;
+import lombok.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps the positive answers of {@link #existsByParentIdAndId} in a bounded cache, relationships removed in cascade
+ * are only forgotten once their entries expire.
+ *
+ * @param <P> parent type
+ * @param <E> child type
+ * @param <I> id type
+ */
+public class CachingParentChildResolver<P extends WithId<I>, E extends WithId<I>, I extends Serializable> implements ParentChildResolver<P, E, I> {
+    private final ParentChildResolver<P, E, I> delegateTo;
+    private final BoundedCache<RelationshipKey, Boolean> cache;
+
+    public CachingParentChildResolver(ParentChildResolver<P, E, I> delegateTo, int maxSize, Duration ttl) {
+        this.delegateTo = delegateTo;
+        this.cache = new BoundedCache<>(maxSize, ttl);
+    }
+
+    public CacheStatistics getStatistics() {
+        return cache;
+    }
+
+    @Override
+    public void setParent(P parent, E child) {
+        delegateTo.setParent(parent, child);
+    }
+
+    @Override
+    public Optional<P> findParentById(I parentI) {
+        return delegateTo.findParentById(parentI);
+    }
+
+    @Override
+    public Page<E> findAllByParentId(I parentI, Pageable pageable) {
+        return delegateTo.findAllByParentId(parentI, pageable);
+    }
+
+    @Override
+    public Slice<E> findSliceByParentId(I parentI, Pageable pageable) {
+        return delegateTo.findSliceByParentId(parentI, pageable);
+    }
+
+    @Override
+    public Slice<E> findAllByParentIdAfter(I parentI, I after, Pageable pageable) {
+        return delegateTo.findAllByParentIdAfter(parentI, after, pageable);
+    }
+
+    @Override
+    public boolean existsByParentIdAndId(I parentI, I childI) {
+        RelationshipKey key = new RelationshipKey(parentI, childI);
+        if (Objects.nonNull(cache.get(key))) {
+            return true;
+        }
+
+        long stamp = cache.stamp();
+        boolean exists = delegateTo.existsByParentIdAndId(parentI, childI);
+        if (exists) {
+            cache.put(key, Boolean.TRUE, stamp);
+        }
+        return exists;
+    }
+
+    /**
+     * not cached, the deletion of a parent is not seen by the resolvers of its children
+     */
+    @Override
+    public boolean existsByParentId(I parentI) {
+        return delegateTo.existsByParentId(parentI);
+    }
+
+    @Override
+    public Set<I> findChildIds(I parentI, Collection<I> childIds) {
+        return delegateTo.findChildIds(parentI, childIds);
+    }
+
+    @Override
+    public long deleteAllByParentId(I parentI) {
+        long deleted = delegateTo.deleteAllByParentId(parentI);
+        cache.invalidateAll();
+        return deleted;
+    }
+
+    @Override
+    public void relationshipChanged(I parentI, I childI) {
+        cache.invalidate(new RelationshipKey(parentI, childI));
+        delegateTo.relationshipChanged(parentI, childI);
+    }
+
+    @Value
+    private static class RelationshipKey {
+        Object parentI;
+        Object childI;
+    }
+}
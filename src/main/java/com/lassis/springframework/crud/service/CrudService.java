@@ -1,20 +1,143 @@
 package com.lassis.springframework.crud.service;
 
 import com.lassis.springframework.crud.entity.WithId;
-import org.springframework.data.domain.Page;
+import com.lassis.springframework.crud.exception.NotFoundException;
+import com.lassis.springframework.crud.exception.RelationshipNotFoundException;
+import com.lassis.springframework.crud.exception.UnsupportedCrudOperationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.io.Serializable;
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 public interface CrudService<E extends WithId<I>, I extends Serializable> {
-    E create(Queue<I> chain, E obj);
+    E create(IdChain<I> chain, E obj);
 
-    E update(Queue<I> chain, I i, E obj);
+    E update(IdChain<I> chain, I i, E obj);
 
-    E get(Queue<I> chain, I i);
+    /**
+     * @param refresh false when the caller does not need the values generated by the database
+     */
+    default E create(IdChain<I> chain, E obj, boolean refresh) {
+        return create(chain, obj);
+    }
 
-    Page<E> all(Queue<I> chain, Pageable pageable);
+    /**
+     * @param refresh false when the caller does not need the values generated by the database
+     */
+    default E update(IdChain<I> chain, I i, E obj, boolean refresh) {
+        return update(chain, i, obj);
+    }
 
-    void deleteById(Queue<I> chain, I i);
+    /**
+     * sets only the given properties of obj into the stored entity
+     */
+    default E patch(IdChain<I> chain, I i, E obj, Set<String> properties) {
+        throw new UnsupportedCrudOperationException(getClass() + " does not support partial updates");
+    }
+
+    /**
+     * @return the created entities in the same order
+     */
+    default List<E> createAll(IdChain<I> chain, List<E> objs) {
+        List<E> created = new ArrayList<>(objs.size());
+        for (E obj : objs) {
+            created.add(create(chain, obj));
+        }
+        return created;
+    }
+
+    /**
+     * @return the updated entities by id, ids not found or not children of the chain are left out
+     */
+    default Map<I, E> updateAll(IdChain<I> chain, Map<I, E> objs) {
+        Map<I, E> updated = new LinkedHashMap<>();
+        objs.forEach((i, obj) -> {
+            try {
+                updated.put(i, update(chain, i, obj));
+            } catch (NotFoundException | RelationshipNotFoundException e) {
+                // reported as missing by the caller
+            }
+        });
+        return updated;
+    }
+
+    E get(IdChain<I> chain, I i);
+
+    /**
+     * @return the entity, the properties not asked for might not be set
+     */
+    default E get(IdChain<I> chain, I i, Set<String> properties) {
+        return get(chain, i);
+    }
+
+    /**
+     * @return the {@code @Version} of the entity, empty when it cannot be read without loading the entity
+     */
+    default Optional<Object> getVersion(IdChain<I> chain, I i) {
+        return Optional.empty();
+    }
+
+    /**
+     * @return the entities found by id, ids not found or not children of the chain are left out
+     */
+    default Map<I, E> getAll(IdChain<I> chain, Collection<I> ids) {
+        Map<I, E> found = new LinkedHashMap<>();
+        for (I i : ids) {
+            try {
+                found.put(i, get(chain, i));
+            } catch (NotFoundException | RelationshipNotFoundException e) {
+                // reported as missing by the caller
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @param pageable an offset page, a {@link SlicePageRequest} or a {@link KeysetPageRequest}
+     */
+    Slice<E> all(IdChain<I> chain, Pageable pageable);
+
+    /**
+     * @return the entities, the properties not asked for might not be set
+     */
+    default Slice<E> all(IdChain<I> chain, Pageable pageable, Set<String> properties) {
+        return all(chain, pageable);
+    }
+
+    void deleteById(IdChain<I> chain, I i);
+
+    /**
+     * @return how many entities were deleted, ids not found or not children of the chain are ignored
+     */
+    default long deleteAllById(IdChain<I> chain, Collection<I> ids) {
+        long deleted = 0;
+        for (I i : ids) {
+            try {
+                deleteById(chain, i);
+                deleted++;
+            } catch (NotFoundException | RelationshipNotFoundException e) {
+                // not counted
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * deletes all children of the last id of the chain
+     */
+    default long deleteAll(IdChain<I> chain) {
+        throw new UnsupportedCrudOperationException(getClass() + " does not support deleting all children of a parent");
+    }
+
+    /**
+     * called when entities were changed or removed without going through this service
+     */
+    default void entitiesChanged() {}
 }
@@ -1,16 +1,82 @@
 package com.lassis.springframework.crud.service;
 
 import com.lassis.springframework.crud.entity.WithId;
-import lombok.RequiredArgsConstructor;
 import org.springframework.beans.BeanUtils;
+import org.springframework.lang.Nullable;
 
 import java.io.Serializable;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-@RequiredArgsConstructor
+/**
+ * Copies every property but the id of the new values into the stored entity.
+ */
 public class GenericUpdateValuesSetter<T extends WithId<? extends Serializable>> implements UpdateValuesSetter<T> {
+    private static final String ID = "id";
 
+    private final boolean skipNulls;
+    private final boolean onlyChanged;
+    private final Map<Class<?>, PropertyCopier<Object>> copiers = new ConcurrentHashMap<>();
+
+    public GenericUpdateValuesSetter() {
+        this(false, false);
+    }
+
+    /**
+     * @param skipNulls   true to keep the stored value when the new one is null
+     * @param onlyChanged true to only set the values that are not equal to the stored ones
+     */
+    public GenericUpdateValuesSetter(boolean skipNulls, boolean onlyChanged) {
+        this.skipNulls = skipNulls;
+        this.onlyChanged = onlyChanged;
+    }
+
+    /**
+     * the properties of the most specific class shared by both objects are copied, so a stored entity wrapped by a
+     * subclass proxy is updated through the proxy
+     */
     @Override
     public void update(T old, T nieuwe) {
-        BeanUtils.copyProperties(nieuwe, old, "id");
+        PropertyCopier<Object> copier = copierOf(old, nieuwe);
+        if (Objects.isNull(copier)) {
+            BeanUtils.copyProperties(nieuwe, old, ID);
+            return;
+        }
+
+        copier.copy(nieuwe, old);
+    }
+
+    @Override
+    public void update(T old, T nieuwe, Set<String> properties) {
+        PropertyCopier<Object> copier = copierOf(old, nieuwe);
+        if (Objects.isNull(copier)) {
+            Set<String> withoutId = new HashSet<>(properties);
+            withoutId.remove(ID);
+            UpdateValuesSetter.super.update(old, nieuwe, withoutId);
+            return;
+        }
+
+        copier.copy(nieuwe, old, properties);
+    }
+
+    @Nullable
+    private PropertyCopier<Object> copierOf(T old, T nieuwe) {
+        if (old.getClass().isInstance(nieuwe)) {
+            return copiers.computeIfAbsent(old.getClass(), this::createCopier);
+        }
+
+        if (nieuwe.getClass().isInstance(old)) {
+            return copiers.computeIfAbsent(nieuwe.getClass(), this::createCopier);
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private PropertyCopier<Object> createCopier(Class<?> type) {
+        return PropertyCopier.of((Class<Object>) type, skipNulls, onlyChanged, ID);
     }
 }
@@ -0,0 +1,135 @@
+package com.lassis.springframework.crud.service;
+
+import java.io.Serializable;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.StringJoiner;
+
+/**
+ * Immutable chain of the parent ids of a nested endpoint, {@link #tail()} only moves a cursor forward.
+ *
+ * @param <I> id type
+ */
+public final class IdChain<I extends Serializable> {
+    private static final IdChain<Serializable> EMPTY = new IdChain<>(new Object[0], 0);
+
+    private final Object[] ids;
+    private final int cursor;
+
+    private IdChain(Object[] ids, int cursor) {
+        this.ids = ids;
+        this.cursor = cursor;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <I extends Serializable> IdChain<I> empty() {
+        return (IdChain<I>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <I extends Serializable> IdChain<I> of(I... ids) {
+        return wrap(ids.clone());
+    }
+
+    /**
+     * creates a chain without copying the array, which must not be changed afterwards
+     */
+    public static <I extends Serializable> IdChain<I> wrap(I[] ids) {
+        return ids.length == 0 ? empty() : new IdChain<>(ids, 0);
+    }
+
+    public boolean isEmpty() {
+        return cursor >= length();
+    }
+
+    public int size() {
+        return length() - cursor;
+    }
+
+    public I head() {
+        checkNotEmpty();
+        return at(cursor);
+    }
+
+    public IdChain<I> tail() {
+        checkNotEmpty();
+        return new IdChain<>(ids, cursor + 1);
+    }
+
+    public I last() {
+        checkNotEmpty();
+        return at(length() - 1);
+    }
+
+    public I get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index " + index + " out of chain of size " + size());
+        }
+        return at(cursor + index);
+    }
+
+    public Queue<I> toQueue() {
+        Queue<I> queue = new LinkedList<>();
+        for (int i = cursor; i < length(); i++) {
+            queue.add(at(i));
+        }
+        return queue;
+    }
+
+    private void checkNotEmpty() {
+        if (isEmpty()) {
+            throw new NoSuchElementException("id chain is empty");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IdChain)) {
+            return false;
+        }
+
+        IdChain<?> other = (IdChain<?>) o;
+        if (size() != other.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < size(); i++) {
+            if (!Objects.equals(get(i), other.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = cursor; i < length(); i++) {
+            hash = 31 * hash + Objects.hashCode(at(i));
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = cursor; i < length(); i++) {
+            joiner.add(String.valueOf(at(i)));
+        }
+        return joiner.toString();
+    }
+
+    private int length() {
+        return ids.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private I at(int index) {
+        return (I) ids[index];
+    }
+}
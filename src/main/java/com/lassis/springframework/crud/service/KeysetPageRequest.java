@@ -0,0 +1,55 @@
+package com.lassis.springframework.crud.service;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Request of the elements whose id is greater than the last id seen by the client, ordered by id.
+ */
+public class KeysetPageRequest extends SlicePageRequest {
+    private static final long serialVersionUID = 1L;
+
+    @Nullable
+    private final Serializable after;
+
+    protected KeysetPageRequest(@Nullable Serializable after, int size) {
+        super(0, size, Sort.by("id"));
+        this.after = after;
+    }
+
+    public static KeysetPageRequest first(int size) {
+        return new KeysetPageRequest(null, size);
+    }
+
+    public static KeysetPageRequest after(Serializable after, int size) {
+        return new KeysetPageRequest(after, size);
+    }
+
+    /**
+     * @return the last id of the previous page, null when the first page is requested
+     */
+    @Nullable
+    public Serializable getAfter() {
+        return after;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return super.equals(obj)
+                && obj instanceof KeysetPageRequest
+                && Objects.equals(after, ((KeysetPageRequest) obj).after);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hashCode(after);
+    }
+
+    @Override
+    public String toString() {
+        return "Keyset page request [after: " + after + ", size " + getPageSize() + "]";
+    }
+}
@@ -0,0 +1,20 @@
+package com.lassis.springframework.crud.service;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.io.Serializable;
+
+/**
+ * Capability of a repository to be read with a {@link KeysetPageRequest}, its methods are derived by Spring Data.
+ *
+ * @param <E> entity type
+ * @param <I> id type
+ */
+public interface KeysetRepository<E, I extends Serializable> extends SliceRepository<E> {
+
+    /**
+     * @return the elements after the given id
+     */
+    Slice<E> findByIdGreaterThan(I id, Pageable pageable);
+}
@@ -0,0 +1,107 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.entity.WithId;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Converts dtos and entities whose properties have the same names, the properties without a match are left unset
+ * and nested objects are copied by reference.
+ *
+ * @param <I> input dto type
+ * @param <O> output dto type
+ * @param <E> entity type
+ */
+public final class MappingDtoConverter<I extends Serializable, O extends Serializable, E extends WithId<? extends Serializable>>
+        implements DtoConverter<I, O, E> {
+
+    private final Mapping<I, E> fromDto;
+    private final Mapping<E, O> toDto;
+
+    private MappingDtoConverter(Mapping<I, E> fromDto, Mapping<E, O> toDto) {
+        this.fromDto = fromDto;
+        this.toDto = toDto;
+    }
+
+    public static <I extends Serializable, O extends Serializable, E extends WithId<? extends Serializable>>
+    MappingDtoConverter<I, O, E> of(Class<I> inputClass, Class<O> outputClass, Class<E> entityClass) {
+        return new MappingDtoConverter<>(Mapping.of(inputClass, entityClass), Mapping.of(entityClass, outputClass));
+    }
+
+    @Override
+    public E fromDto(I obj) {
+        return fromDto.map(obj);
+    }
+
+    @Override
+    public O toDto(E entity) {
+        return toDto.map(entity);
+    }
+
+    private static final class Mapping<S, T> {
+        private final Supplier<T> constructor;
+        private final Function<Object, Object>[] getters;
+        private final BiConsumer<Object, Object>[] setters;
+
+        private Mapping(Supplier<T> constructor, Function<Object, Object>[] getters, BiConsumer<Object, Object>[] setters) {
+            this.constructor = constructor;
+            this.getters = getters;
+            this.setters = setters;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <S, T> Mapping<S, T> of(Class<S> sourceClass, Class<T> targetClass) {
+            List<Function<Object, Object>> getters = new ArrayList<>();
+            List<BiConsumer<Object, Object>> setters = new ArrayList<>();
+
+            for (PropertyDescriptor target : BeanUtils.getPropertyDescriptors(targetClass)) {
+                Method writeMethod = target.getWriteMethod();
+                PropertyDescriptor source = BeanUtils.getPropertyDescriptor(sourceClass, target.getName());
+                Method readMethod = Objects.isNull(source) ? null : source.getReadMethod();
+
+                if (Objects.isNull(writeMethod) || Objects.isNull(readMethod)
+                        || !ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType())) {
+                    continue;
+                }
+
+                BiConsumer<Object, Object> setter = Accessors.setter(targetClass, writeMethod);
+                getters.add(Accessors.getter(sourceClass, readMethod));
+                setters.add(writeMethod.getParameterTypes()[0].isPrimitive() ? skippingNull(setter) : setter);
+            }
+
+            return new Mapping<>(Accessors.constructor(targetClass),
+                    getters.toArray(new Function[0]),
+                    setters.toArray(new BiConsumer[0]));
+        }
+
+        private static BiConsumer<Object, Object> skippingNull(BiConsumer<Object, Object> setter) {
+            return (target, value) -> {
+                if (Objects.nonNull(value)) {
+                    setter.accept(target, value);
+                }
+            };
+        }
+
+        T map(S source) {
+            if (Objects.isNull(source)) {
+                return null;
+            }
+
+            T target = constructor.get();
+            for (int i = 0; i < getters.length; i++) {
+                setters[i].accept(target, getters[i].apply(source));
+            }
+            return target;
+        }
+    }
+}
@@ -3,81 +3,406 @@ package com.lassis.springframework.crud.service;
 import com.lassis.springframework.crud.entity.WithId;
 import com.lassis.springframework.crud.exception.NotFoundException;
 import com.lassis.springframework.crud.exception.RelationshipNotFoundException;
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
 
 import java.io.Serializable;
-import java.util.Queue;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
-@RequiredArgsConstructor
+import static java.util.Collections.singletonList;
+
+/**
+ * Checks the relationship between the ids of the chain before delegating to the next level, or the whole chain at
+ * once when an {@link AncestryResolver} is given.
+ */
 public class MultiLevelCrudService<P extends WithId<I>, E extends WithId<I>, I extends Serializable> implements CrudService<E, I> {
     private final CrudService<E, I> delegateTo;
     private final ParentChildResolver<P, E, I> parentChildResolver;
+    @Nullable
+    private final AncestryResolver<E, I> ancestryResolver;
+
+    public MultiLevelCrudService(CrudService<E, I> delegateTo, ParentChildResolver<P, E, I> parentChildResolver) {
+        this(delegateTo, parentChildResolver, null);
+    }
+
+    public MultiLevelCrudService(CrudService<E, I> delegateTo,
+                                 ParentChildResolver<P, E, I> parentChildResolver,
+                                 @Nullable AncestryResolver<E, I> ancestryResolver) {
+        this.delegateTo = delegateTo;
+        this.parentChildResolver = parentChildResolver;
+        this.ancestryResolver = ancestryResolver;
+    }
 
     @Override
-    public E create(Queue<I> chain, E obj) {
-        I parentI = chain.remove();
+    public E create(IdChain<I> chain, E obj) {
+        return createAll(chain, singletonList(obj), next -> singletonList(delegateTo.create(next, obj))).get(0);
+    }
 
-        if (chain.isEmpty()) {
-            P entity = parentChildResolver.findParentById(parentI)
-                    .orElseThrow(() -> new NotFoundException(parentI));
-            parentChildResolver.setParent(entity, obj);
+    @Override
+    public E create(IdChain<I> chain, E obj, boolean refresh) {
+        return createAll(chain, singletonList(obj), next -> singletonList(delegateTo.create(next, obj, refresh))).get(0);
+    }
+
+    @Override
+    public List<E> createAll(IdChain<I> chain, List<E> objs) {
+        return createAll(chain, objs, next -> delegateTo.createAll(next, objs));
+    }
+
+    private List<E> createAll(IdChain<I> chain, List<E> objs, Function<IdChain<I>, List<E>> createNext) {
+        if (Objects.nonNull(ancestryResolver)) {
+            failIfAncestryNotFound(ancestryResolver, chain);
+
+            I parentI = chain.last();
+            setParent(parentI, objs);
+
+            List<E> created = createNext.apply(IdChain.empty());
+            relationshipsChanged(parentI, created);
+            return created;
+        }
+
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        if (next.isEmpty()) {
+            setParent(parentI, objs);
         } else {
-            if (!parentChildResolver.existsByParentIdAndId(parentI, chain.peek())){
+            if (!parentChildResolver.existsByParentIdAndId(parentI, next.head())){
                 throw new RelationshipNotFoundException();
             }
         }
 
-        return delegateTo.create(chain, obj);
+        List<E> created = createNext.apply(next);
+        if (next.isEmpty()) {
+            relationshipsChanged(parentI, created);
+        }
+        return created;
+    }
+
+    private void setParent(I parentI, List<E> objs) {
+        P entity = parentChildResolver.findParentById(parentI)
+                .orElseThrow(() -> new NotFoundException(parentI));
+
+        for (E obj : objs) {
+            parentChildResolver.setParent(entity, obj);
+        }
+    }
+
+    private void relationshipsChanged(I parentI, List<E> children) {
+        for (E child : children) {
+            parentChildResolver.relationshipChanged(parentI, child.getId());
+        }
     }
 
     @Override
-    public E update(Queue<I> chain, I i, E obj) {
-        I parentI = chain.remove();
+    public E update(IdChain<I> chain, I i, E obj) {
+        return update(chain, i, obj, next -> delegateTo.update(next, i, obj));
+    }
 
-        I childI = chain.isEmpty() ? obj.getId() : chain.peek();
+    @Override
+    public E update(IdChain<I> chain, I i, E obj, boolean refresh) {
+        return update(chain, i, obj, next -> delegateTo.update(next, i, obj, refresh));
+    }
+
+    private E update(IdChain<I> chain, I i, E obj, Function<IdChain<I>, E> updateNext) {
+        if (Objects.nonNull(ancestryResolver)) {
+            if (!ancestryResolver.existsByAncestry(chain, i)) {
+                throw new RelationshipNotFoundException();
+            }
+            return updateNext.apply(IdChain.empty());
+        }
+
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        I childI = next.isEmpty() ? obj.getId() : next.head();
         if (!parentChildResolver.existsByParentIdAndId(parentI, childI)) {
             throw new RelationshipNotFoundException();
         }
 
-        return delegateTo.update(chain, i, obj);
+        return updateNext.apply(next);
     }
 
     @Override
-    public E get(Queue<I> chain, I i) {
-        I parentI = chain.remove();
-        I childI = chain.isEmpty() ? i : chain.peek();
+    public E patch(IdChain<I> chain, I i, E obj, Set<String> properties) {
+        if (Objects.nonNull(ancestryResolver)) {
+            if (!ancestryResolver.existsByAncestry(chain, i)) {
+                throw new RelationshipNotFoundException();
+            }
+            return delegateTo.patch(IdChain.empty(), i, obj, properties);
+        }
+
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        I childI = next.isEmpty() ? i : next.head();
+        if (!parentChildResolver.existsByParentIdAndId(parentI, childI)) {
+            throw new RelationshipNotFoundException();
+        }
+
+        return delegateTo.patch(next, i, obj, properties);
+    }
+
+    @Override
+    public Map<I, E> updateAll(IdChain<I> chain, Map<I, E> objs) {
+        if (Objects.nonNull(ancestryResolver)) {
+            Set<I> children = ancestryResolver.findIdsByAncestry(chain, objs.keySet());
+            return updateChildren(IdChain.empty(), objs, children);
+        }
+
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        if (next.isEmpty()) {
+            Set<I> children = parentChildResolver.findChildIds(parentI, objs.keySet());
+            return updateChildren(next, objs, children);
+        }
+
+        if (!parentChildResolver.existsByParentIdAndId(parentI, next.head())) {
+            throw new RelationshipNotFoundException();
+        }
+        return delegateTo.updateAll(next, objs);
+    }
+
+    private Map<I, E> updateChildren(IdChain<I> next, Map<I, E> objs, Set<I> children) {
+        Map<I, E> retained = new LinkedHashMap<>();
+        objs.forEach((i, obj) -> {
+            if (children.contains(i)) {
+                retained.put(i, obj);
+            }
+        });
+
+        return retained.isEmpty() ? retained : delegateTo.updateAll(next, retained);
+    }
+
+    @Override
+    public E get(IdChain<I> chain, I i) {
+        if (Objects.nonNull(ancestryResolver)) {
+            return ancestryResolver.findByAncestry(chain, i)
+                    .orElseThrow(RelationshipNotFoundException::new);
+        }
+
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        I childI = next.isEmpty() ? i : next.head();
         if (!parentChildResolver.existsByParentIdAndId(parentI, childI)) {
             throw new RelationshipNotFoundException();
         }
-        return delegateTo.get(chain, i);
+        return delegateTo.get(next, i);
     }
 
     @Override
-    public Page<E> all(Queue<I> chain, Pageable pageable) {
-        I parentI = chain.remove();
+    public E get(IdChain<I> chain, I i, Set<String> properties) {
+        if (Objects.nonNull(ancestryResolver)) {
+            return get(chain, i);
+        }
+
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        I childI = next.isEmpty() ? i : next.head();
+        if (!parentChildResolver.existsByParentIdAndId(parentI, childI)) {
+            throw new RelationshipNotFoundException();
+        }
+        return delegateTo.get(next, i, properties);
+    }
+
+    @Override
+    public Optional<Object> getVersion(IdChain<I> chain, I i) {
+        if (Objects.nonNull(ancestryResolver)) {
+            if (!ancestryResolver.existsByAncestry(chain, i)) {
+                throw new RelationshipNotFoundException();
+            }
+            return delegateTo.getVersion(IdChain.empty(), i);
+        }
 
-        if (chain.isEmpty()) {
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        I childI = next.isEmpty() ? i : next.head();
+        if (!parentChildResolver.existsByParentIdAndId(parentI, childI)) {
+            throw new RelationshipNotFoundException();
+        }
+        return delegateTo.getVersion(next, i);
+    }
+
+    @Override
+    public Map<I, E> getAll(IdChain<I> chain, Collection<I> ids) {
+        if (Objects.nonNull(ancestryResolver)) {
+            Set<I> children = ancestryResolver.findIdsByAncestry(chain, ids);
+            return getChildren(IdChain.empty(), children);
+        }
+
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        if (next.isEmpty()) {
+            Set<I> children = parentChildResolver.findChildIds(parentI, ids);
+            return getChildren(next, children);
+        }
+
+        if (!parentChildResolver.existsByParentIdAndId(parentI, next.head())) {
+            throw new RelationshipNotFoundException();
+        }
+        return delegateTo.getAll(next, ids);
+    }
+
+    private Map<I, E> getChildren(IdChain<I> next, Set<I> children) {
+        return children.isEmpty() ? new LinkedHashMap<>() : delegateTo.getAll(next, children);
+    }
+
+    @Override
+    public Slice<E> all(IdChain<I> chain, Pageable pageable) {
+        if (Objects.nonNull(ancestryResolver)) {
+            failIfAncestryNotFound(ancestryResolver, chain);
+
+            I parentI = chain.last();
+            if (chain.size() == 1 && !parentChildResolver.existsByParentId(parentI)) {
+                throw new NotFoundException();
+            }
+            return findAllByParentId(parentI, pageable);
+        }
+
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        if (next.isEmpty()) {
             if (!parentChildResolver.existsByParentId(parentI)) {
                 throw new NotFoundException();
             }
-            return parentChildResolver.findAllByParentId(parentI, pageable);
+            return findAllByParentId(parentI, pageable);
         } else {
-            if (!parentChildResolver.existsByParentIdAndId(parentI, chain.peek())) {
+            if (!parentChildResolver.existsByParentIdAndId(parentI, next.head())) {
                 throw new RelationshipNotFoundException();
             }
-            return delegateTo.all(chain, pageable);
+            return delegateTo.all(next, pageable);
         }
     }
 
     @Override
-    public void deleteById(Queue<I> chain, I i) {
-        I parentI = chain.remove();
-        I childI = chain.isEmpty() ? i : chain.peek();
+    public void deleteById(IdChain<I> chain, I i) {
+        if (Objects.nonNull(ancestryResolver)) {
+            if (!ancestryResolver.existsByAncestry(chain, i)) {
+                throw new RelationshipNotFoundException();
+            }
+            delegateTo.deleteById(IdChain.empty(), i);
+            parentChildResolver.relationshipChanged(chain.last(), i);
+            return;
+        }
+
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        I childI = next.isEmpty() ? i : next.head();
         if (!parentChildResolver.existsByParentIdAndId(parentI, childI)) {
             throw new RelationshipNotFoundException();
         }
-        delegateTo.deleteById(chain, i);
+        delegateTo.deleteById(next, i);
+        if (next.isEmpty()) {
+            parentChildResolver.relationshipChanged(parentI, i);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Slice<E> findAllByParentId(I parentI, Pageable pageable) {
+        if (pageable instanceof KeysetPageRequest) {
+            I after = (I) ((KeysetPageRequest) pageable).getAfter();
+            return parentChildResolver.findAllByParentIdAfter(parentI, after, pageable);
+        }
+
+        if (pageable instanceof SlicePageRequest) {
+            return parentChildResolver.findSliceByParentId(parentI, pageable);
+        }
+        return parentChildResolver.findAllByParentId(parentI, pageable);
+    }
+
+    @Override
+    public long deleteAllById(IdChain<I> chain, Collection<I> ids) {
+        if (Objects.nonNull(ancestryResolver)) {
+            Set<I> children = ancestryResolver.findIdsByAncestry(chain, ids);
+            return deleteChildren(IdChain.empty(), chain.last(), children);
+        }
+
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        if (next.isEmpty()) {
+            Set<I> children = parentChildResolver.findChildIds(parentI, ids);
+            return deleteChildren(next, parentI, children);
+        }
+
+        if (!parentChildResolver.existsByParentIdAndId(parentI, next.head())) {
+            throw new RelationshipNotFoundException();
+        }
+        return delegateTo.deleteAllById(next, ids);
+    }
+
+    private long deleteChildren(IdChain<I> next, I parentI, Set<I> children) {
+        if (children.isEmpty()) {
+            return 0;
+        }
+
+        long deleted = delegateTo.deleteAllById(next, children);
+        for (I childI : children) {
+            parentChildResolver.relationshipChanged(parentI, childI);
+        }
+        return deleted;
+    }
+
+    @Override
+    public long deleteAll(IdChain<I> chain) {
+        if (Objects.nonNull(ancestryResolver)) {
+            failIfAncestryNotFound(ancestryResolver, chain);
+
+            I parentI = chain.last();
+            if (chain.size() == 1 && !parentChildResolver.existsByParentId(parentI)) {
+                throw new NotFoundException();
+            }
+            return deleteAllChildren(parentI);
+        }
+
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        if (next.isEmpty()) {
+            if (!parentChildResolver.existsByParentId(parentI)) {
+                throw new NotFoundException();
+            }
+            return deleteAllChildren(parentI);
+        }
+
+        if (!parentChildResolver.existsByParentIdAndId(parentI, next.head())) {
+            throw new RelationshipNotFoundException();
+        }
+        return delegateTo.deleteAll(next);
+    }
+
+    private long deleteAllChildren(I parentI) {
+        long deleted = parentChildResolver.deleteAllByParentId(parentI);
+        delegateTo.entitiesChanged();
+        return deleted;
+    }
+
+    @Override
+    public void entitiesChanged() {
+        delegateTo.entitiesChanged();
+    }
+
+    /**
+     * a chain of a single id has no relationship to check
+     */
+    private static <E extends WithId<I>, I extends Serializable> void failIfAncestryNotFound(AncestryResolver<E, I> resolver,
+                                                                                             IdChain<I> chain) {
+        if (chain.size() > 1 && !resolver.existsAncestry(chain)) {
+            throw new RelationshipNotFoundException();
+        }
     }
 }
@@ -0,0 +1,87 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.exception.NotFoundException;
+import com.lassis.springframework.crud.exception.RelationshipNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Mono;
+
+import java.io.Serializable;
+import java.util.function.Supplier;
+
+/**
+ * Non blocking counterpart of {@link MultiLevelCrudService}.
+ */
+@RequiredArgsConstructor
+public class MultiLevelReactiveCrudService<P extends WithId<I>, E extends WithId<I>, I extends Serializable> implements ReactiveCrudService<E, I> {
+    private final ReactiveCrudService<E, I> delegateTo;
+    private final ReactiveParentChildResolver<P, E, I> parentChildResolver;
+
+    @Override
+    public Mono<E> create(IdChain<I> chain, E obj) {
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        if (next.isEmpty()) {
+            return parentChildResolver.findParentById(parentI)
+                    .switchIfEmpty(Mono.error(() -> new NotFoundException(parentI)))
+                    .flatMap(parent -> {
+                        parentChildResolver.setParent(parent, obj);
+                        return delegateTo.create(next, obj);
+                    });
+        }
+
+        return ifChild(parentI, next.head(), () -> delegateTo.create(next, obj));
+    }
+
+    @Override
+    public Mono<E> update(IdChain<I> chain, I i, E obj) {
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        I childI = next.isEmpty() ? i : next.head();
+        return ifChild(parentI, childI, () -> delegateTo.update(next, i, obj));
+    }
+
+    @Override
+    public Mono<E> get(IdChain<I> chain, I i) {
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        I childI = next.isEmpty() ? i : next.head();
+        return ifChild(parentI, childI, () -> delegateTo.get(next, i));
+    }
+
+    @Override
+    public Mono<Slice<E>> all(IdChain<I> chain, Pageable pageable) {
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        if (next.isEmpty()) {
+            return parentChildResolver.existsByParentId(parentI)
+                    .flatMap(exists -> exists
+                            ? ReactiveSlices.of(parentChildResolver.findAllByParentId(parentI, pageable.getSort()), pageable)
+                            : Mono.error(new NotFoundException()));
+        }
+
+        return ifChild(parentI, next.head(), () -> delegateTo.all(next, pageable));
+    }
+
+    @Override
+    public Mono<Void> deleteById(IdChain<I> chain, I i) {
+        I parentI = chain.head();
+        IdChain<I> next = chain.tail();
+
+        I childI = next.isEmpty() ? i : next.head();
+        return ifChild(parentI, childI, () -> delegateTo.deleteById(next, i));
+    }
+
+    private <T> Mono<T> ifChild(I parentI, I childI, Supplier<Mono<T>> then) {
+        return parentChildResolver.existsByParentIdAndId(parentI, childI)
+                .flatMap(exists -> exists
+                        ? then.get()
+                        : Mono.error(new RelationshipNotFoundException()));
+    }
+}
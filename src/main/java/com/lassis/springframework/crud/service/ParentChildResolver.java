@@ -1,11 +1,17 @@
 package com.lassis.springframework.crud.service;
 
 import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.exception.UnsupportedCrudOperationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.lang.Nullable;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public interface ParentChildResolver<P extends WithId<I>, E extends WithId<I>, I extends Serializable> {
 
@@ -15,7 +21,42 @@ public interface ParentChildResolver<P extends WithId<I>, E extends WithId<I>, I
 
     Page<E> findAllByParentId(I parentI, Pageable pageable);
 
+    /**
+     * reads a page of children without counting them
+     */
+    default Slice<E> findSliceByParentId(I parentI, Pageable pageable) {
+        return findAllByParentId(parentI, pageable);
+    }
+
+    /**
+     * @param after last child id of the previous page, null for the first page
+     */
+    default Slice<E> findAllByParentIdAfter(I parentI, @Nullable I after, Pageable pageable) {
+        throw new UnsupportedCrudOperationException(getClass() + " does not support keyset pagination");
+    }
+
     boolean existsByParentIdAndId(I parentI, I childI);
 
     boolean existsByParentId(I parentI);
+
+    /**
+     * @return the given ids that are children of the parent, implementations should check them with a single query
+     */
+    default Set<I> findChildIds(I parentI, Collection<I> childIds) {
+        return childIds.stream()
+                .filter(childI -> existsByParentIdAndId(parentI, childI))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * @return how many children were deleted
+     */
+    default long deleteAllByParentId(I parentI) {
+        throw new UnsupportedCrudOperationException(getClass() + " does not support deleting all children of a parent");
+    }
+
+    /**
+     * called when the relationship between a parent and a child was created or removed
+     */
+    default void relationshipChanged(I parentI, I childI) {}
 }
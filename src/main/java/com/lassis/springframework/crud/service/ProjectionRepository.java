@@ -0,0 +1,31 @@
+package com.lassis.springframework.crud.service;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Capability of a repository to read only some properties of its entities, implemented by a repository fragment.
+ *
+ * @param <E> entity type
+ * @param <I> id type
+ */
+public interface ProjectionRepository<E, I extends Serializable> {
+
+    /**
+     * @param i          entity id
+     * @param properties properties to read, the id is always among them
+     * @return an entity with only the given properties set, empty if it does not exist
+     */
+    Optional<E> findProjectedById(I i, Set<String> properties);
+
+    /**
+     * @param properties properties to read, the id is always among them
+     * @param pageable   an offset page or a {@link SlicePageRequest}
+     * @return entities with only the given properties set
+     */
+    Slice<E> findAllProjected(Set<String> properties, Pageable pageable);
+}
@@ -0,0 +1,125 @@
+package com.lassis.springframework.crud.service;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Copies the properties of a class from one instance to another as {@link BeanUtils#copyProperties} does, through
+ * accessors looked up once.
+ *
+ * @param <T> type of the copied instances
+ */
+public final class PropertyCopier<T> {
+    private final Class<T> type;
+    private final Property[] properties;
+    private final boolean skipNulls;
+    private final boolean onlyChanged;
+
+    private PropertyCopier(Class<T> type, Property[] properties, boolean skipNulls, boolean onlyChanged) {
+        this.type = type;
+        this.properties = properties;
+        this.skipNulls = skipNulls;
+        this.onlyChanged = onlyChanged;
+    }
+
+    /**
+     * @param type              class whose readable and writable properties are copied
+     * @param skipNulls         true to keep the target value when the source one is null
+     * @param onlyChanged       true to only call the setters of values that are not equal
+     * @param ignoredProperties properties never copied
+     */
+    public static <T> PropertyCopier<T> of(Class<T> type, boolean skipNulls, boolean onlyChanged, String... ignoredProperties) {
+        Set<String> ignored = new HashSet<>(Arrays.asList(ignoredProperties));
+        List<Property> properties = new ArrayList<>();
+
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+            Method readMethod = descriptor.getReadMethod();
+            Method writeMethod = descriptor.getWriteMethod();
+
+            if (ignored.contains(descriptor.getName()) || Objects.isNull(readMethod) || Objects.isNull(writeMethod)
+                    || !ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], readMethod.getReturnType())) {
+                continue;
+            }
+
+            properties.add(new Property(descriptor.getName(), Accessors.getter(type, readMethod), Accessors.setter(type, writeMethod)));
+        }
+
+        return new PropertyCopier<>(type, properties.toArray(new Property[0]), skipNulls, onlyChanged);
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * @return true when at least one property of the target was set
+     */
+    public boolean copy(T source, T target) {
+        boolean changed = false;
+
+        for (Property property : properties) {
+            changed |= copy(property, source, target, skipNulls);
+        }
+
+        return changed;
+    }
+
+    /**
+     * copies only the given properties, null values included
+     *
+     * @return true when at least one property of the target was set
+     */
+    public boolean copy(T source, T target, Set<String> only) {
+        boolean changed = false;
+
+        for (Property property : properties) {
+            if (only.contains(property.name)) {
+                changed |= copy(property, source, target, false);
+            }
+        }
+
+        return changed;
+    }
+
+    private boolean copy(Property property, T source, T target, boolean skipNull) {
+        Object value = property.getter.apply(source);
+        if (skipNull && Objects.isNull(value)) {
+            return false;
+        }
+
+        if (onlyChanged && Objects.deepEquals(value, property.getter.apply(target))) {
+            return false;
+        }
+
+        property.setter.accept(target, value);
+        return true;
+    }
+
+    private static final class Property {
+        private final String name;
+        private final Function<Object, Object> getter;
+        private final BiConsumer<Object, Object> setter;
+
+        private Property(String name, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+            this.name = name;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.entity.WithId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.io.Serializable;
+import java.util.Queue;
+
+/**
+ * Bridge for {@link CrudService} implementations written against the former {@link Queue} based contract.
+ *
+ * @param <E> entity type
+ * @param <I> id type
+ * @deprecated implement {@link CrudService} instead, it avoids copying the chain on every call
+ */
+@Deprecated
+public interface QueueCrudService<E extends WithId<I>, I extends Serializable> extends CrudService<E, I> {
+    E create(Queue<I> chain, E obj);
+
+    E update(Queue<I> chain, I i, E obj);
+
+    E get(Queue<I> chain, I i);
+
+    Page<E> all(Queue<I> chain, Pageable pageable);
+
+    void deleteById(Queue<I> chain, I i);
+
+    @Override
+    default E create(IdChain<I> chain, E obj) {
+        return create(chain.toQueue(), obj);
+    }
+
+    @Override
+    default E update(IdChain<I> chain, I i, E obj) {
+        return update(chain.toQueue(), i, obj);
+    }
+
+    @Override
+    default E get(IdChain<I> chain, I i) {
+        return get(chain.toQueue(), i);
+    }
+
+    @Override
+    default Page<E> all(IdChain<I> chain, Pageable pageable) {
+        return all(chain.toQueue(), pageable);
+    }
+
+    @Override
+    default void deleteById(IdChain<I> chain, I i) {
+        deleteById(chain.toQueue(), i);
+    }
+}
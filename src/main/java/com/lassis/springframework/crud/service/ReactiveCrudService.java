@@ -0,0 +1,29 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.entity.WithId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Mono;
+
+import java.io.Serializable;
+
+/**
+ * Non blocking counterpart of {@link CrudService}, the same errors are signalled instead of thrown.
+ *
+ * @param <E> entity type
+ * @param <I> id type
+ */
+public interface ReactiveCrudService<E extends WithId<I>, I extends Serializable> {
+    Mono<E> create(IdChain<I> chain, E obj);
+
+    Mono<E> update(IdChain<I> chain, I i, E obj);
+
+    Mono<E> get(IdChain<I> chain, I i);
+
+    /**
+     * @param pageable an offset page or a {@link SlicePageRequest}, the elements are never counted
+     */
+    Mono<Slice<E>> all(IdChain<I> chain, Pageable pageable);
+
+    Mono<Void> deleteById(IdChain<I> chain, I i);
+}
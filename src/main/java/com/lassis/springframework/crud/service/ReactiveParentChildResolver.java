@@ -0,0 +1,31 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.entity.WithId;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.Serializable;
+
+/**
+ * Non blocking counterpart of {@link ParentChildResolver}, used by {@link MultiLevelReactiveCrudService}.
+ *
+ * @param <P> parent type
+ * @param <E> child type
+ * @param <I> id type
+ */
+public interface ReactiveParentChildResolver<P extends WithId<I>, E extends WithId<I>, I extends Serializable> {
+
+    void setParent(P parent, E child);
+
+    Mono<P> findParentById(I parentI);
+
+    /**
+     * the flux is only read up to the end of the requested page, so it should be backed by a database cursor
+     */
+    Flux<E> findAllByParentId(I parentI, Sort sort);
+
+    Mono<Boolean> existsByParentIdAndId(I parentI, I childI);
+
+    Mono<Boolean> existsByParentId(I parentI);
+}
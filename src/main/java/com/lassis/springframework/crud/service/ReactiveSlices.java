@@ -0,0 +1,34 @@
+package com.lassis.springframework.crud.service;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+final class ReactiveSlices {
+
+    private ReactiveSlices() {}
+
+    /**
+     * reads one element more than the page size to know whether there is a next page, the flux is cancelled right after
+     */
+    static <E> Mono<Slice<E>> of(Flux<E> all, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return all.collectList().map(SliceImpl::new);
+        }
+
+        int size = pageable.getPageSize();
+        return all.skip(pageable.getOffset())
+                .take(size + 1L)
+                .collectList()
+                .map(content -> toSlice(content, pageable, size));
+    }
+
+    private static <E> Slice<E> toSlice(List<E> content, Pageable pageable, int size) {
+        boolean hasNext = content.size() > size;
+        return new SliceImpl<>(hasNext ? content.subList(0, size) : content, pageable, hasNext);
+    }
+}
@@ -3,38 +3,89 @@ package com.lassis.springframework.crud.service;
 import com.lassis.springframework.crud.entity.WithId;
 import com.lassis.springframework.crud.exception.CreateNonEmptyIdException;
 import com.lassis.springframework.crud.exception.NotFoundException;
+import com.lassis.springframework.crud.exception.UnsupportedCrudOperationException;
 import com.lassis.springframework.crud.exception.UpdateIdConflictException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Queue;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
-@RequiredArgsConstructor
 @Slf4j
 public class SimpleCrudService<E extends WithId<I>, I extends Serializable> implements CrudService<E, I> {
     private final PagingAndSortingRepository<E, I> repository;
     private final BeforeSave<E> beforeSaveAction;
     private final UpdateValuesSetter<E> updateSetter;
+    private final boolean refreshAfterSave;
+
+    public SimpleCrudService(PagingAndSortingRepository<E, I> repository,
+                             BeforeSave<E> beforeSaveAction,
+                             UpdateValuesSetter<E> updateSetter) {
+        this(repository, beforeSaveAction, updateSetter, true);
+    }
+
+    /**
+     * @param refreshAfterSave true to read the entity again once saved
+     */
+    public SimpleCrudService(PagingAndSortingRepository<E, I> repository,
+                             BeforeSave<E> beforeSaveAction,
+                             UpdateValuesSetter<E> updateSetter,
+                             boolean refreshAfterSave) {
+        this.repository = repository;
+        this.beforeSaveAction = beforeSaveAction;
+        this.updateSetter = updateSetter;
+        this.refreshAfterSave = refreshAfterSave;
+    }
+
+    @Override
+    public E create(IdChain<I> chain, E obj) {
+        return create(chain, obj, refreshAfterSave);
+    }
 
     @Override
-    public E create(Queue<I> chain, E obj) {
+    public E create(IdChain<I> chain, E obj, boolean refresh) {
         failIfMultiLevel(chain);
 
         if (Objects.nonNull(obj.getId())) {
             throw new CreateNonEmptyIdException();
         }
 
-        return save(obj);
+        return save(obj, refresh);
     }
 
     @Override
-    public E update(Queue<I> chain, I i, E obj) {
+    public List<E> createAll(IdChain<I> chain, List<E> objs) {
+        failIfMultiLevel(chain);
+
+        for (E obj : objs) {
+            if (Objects.nonNull(obj.getId())) {
+                throw new CreateNonEmptyIdException();
+            }
+            beforeSaveAction.execute(obj);
+        }
+
+        List<E> saved = toList(repository.saveAll(objs));
+        return refreshAfterSave ? findAllInOrder(saved) : saved;
+    }
+
+    @Override
+    public E update(IdChain<I> chain, I i, E obj) {
+        return update(chain, i, obj, refreshAfterSave);
+    }
+
+    @Override
+    public E update(IdChain<I> chain, I i, E obj, boolean refresh) {
         failIfMultiLevel(chain);
 
         if (Objects.nonNull(obj.getId()) && !Objects.equals(i, obj.getId())) {
@@ -45,11 +96,57 @@ public class SimpleCrudService<E extends WithId<I>, I extends Serializable> impl
                 .orElseThrow(() -> new NotFoundException(i));
 
         updateSetter.update(dbObj, obj);
-        return save(dbObj);
+        return save(dbObj, refresh);
+    }
+
+    /**
+     * only the given properties are set, so Hibernate writes only their columns for {@code @DynamicUpdate} entities
+     */
+    @Override
+    public E patch(IdChain<I> chain, I i, E obj, Set<String> properties) {
+        failIfMultiLevel(chain);
+
+        if (Objects.nonNull(obj.getId()) && !Objects.equals(i, obj.getId())) {
+            throw new UpdateIdConflictException(i, obj.getId());
+        }
+
+        E dbObj = repository.findById(i)
+                .orElseThrow(() -> new NotFoundException(i));
+
+        updateSetter.update(dbObj, obj, properties);
+        return save(dbObj, refreshAfterSave);
     }
 
     @Override
-    public E get(Queue<I> chain, I i) {
+    public Map<I, E> updateAll(IdChain<I> chain, Map<I, E> objs) {
+        failIfMultiLevel(chain);
+
+        objs.forEach((i, obj) -> {
+            if (Objects.nonNull(obj.getId()) && !Objects.equals(i, obj.getId())) {
+                throw new UpdateIdConflictException(i, obj.getId());
+            }
+        });
+
+        List<E> dbObjs = toList(repository.findAllById(objs.keySet()));
+        for (E dbObj : dbObjs) {
+            updateSetter.update(dbObj, objs.get(dbObj.getId()));
+            beforeSaveAction.execute(dbObj);
+        }
+
+        List<E> saved = toList(repository.saveAll(dbObjs));
+        if (refreshAfterSave) {
+            saved = findAllInOrder(saved);
+        }
+
+        Map<I, E> updated = new LinkedHashMap<>();
+        for (E entity : saved) {
+            updated.put(entity.getId(), entity);
+        }
+        return updated;
+    }
+
+    @Override
+    public E get(IdChain<I> chain, I i) {
         failIfMultiLevel(chain);
 
         return repository.findById(i)
@@ -57,14 +154,76 @@ public class SimpleCrudService<E extends WithId<I>, I extends Serializable> impl
     }
 
     @Override
-    public Page<E> all(Queue<I> chain, Pageable pageable) {
+    @SuppressWarnings("unchecked")
+    public E get(IdChain<I> chain, I i, Set<String> properties) {
+        failIfMultiLevel(chain);
+
+        if (!(repository instanceof ProjectionRepository)) {
+            return get(chain, i);
+        }
+
+        return ((ProjectionRepository<E, I>) repository).findProjectedById(i, properties)
+                .orElseThrow(() -> new NotFoundException(i));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Object> getVersion(IdChain<I> chain, I i) {
+        failIfMultiLevel(chain);
+
+        if (repository instanceof VersionRepository) {
+            return ((VersionRepository<I, Object>) repository).findVersionById(i);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Map<I, E> getAll(IdChain<I> chain, Collection<I> ids) {
         failIfMultiLevel(chain);
 
+        Map<I, E> found = new LinkedHashMap<>();
+        if (ids.isEmpty()) {
+            return found;
+        }
+
+        for (E entity : repository.findAllById(ids)) {
+            found.put(entity.getId(), entity);
+        }
+        return found;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Slice<E> all(IdChain<I> chain, Pageable pageable) {
+        failIfMultiLevel(chain);
+
+        if (pageable instanceof KeysetPageRequest) {
+            return findAllAfter((KeysetPageRequest) pageable);
+        }
+
+        if (pageable instanceof SlicePageRequest && repository instanceof SliceRepository) {
+            return ((SliceRepository<E>) repository).findAllBy(pageable);
+        }
         return repository.findAll(pageable);
     }
 
+    /**
+     * keyset requests are always read whole
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Slice<E> all(IdChain<I> chain, Pageable pageable, Set<String> properties) {
+        failIfMultiLevel(chain);
+
+        if (!(repository instanceof ProjectionRepository) || pageable instanceof KeysetPageRequest) {
+            return all(chain, pageable);
+        }
+
+        return ((ProjectionRepository<E, I>) repository).findAllProjected(properties, pageable);
+    }
+
     @Override
-    public void deleteById(Queue<I> chain, I i) {
+    public void deleteById(IdChain<I> chain, I i) {
         failIfMultiLevel(chain);
 
         if (!repository.existsById(i)) {
@@ -74,16 +233,74 @@ public class SimpleCrudService<E extends WithId<I>, I extends Serializable> impl
         repository.deleteById(i);
     }
 
-    private E save(E entity) {
+    @Override
+    @SuppressWarnings("unchecked")
+    public long deleteAllById(IdChain<I> chain, Collection<I> ids) {
+        failIfMultiLevel(chain);
+
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        if (repository instanceof BatchDeleteRepository) {
+            return ((BatchDeleteRepository<I>) repository).deleteByIdIn(ids);
+        }
+
+        List<E> found = toList(repository.findAllById(ids));
+        repository.deleteAll(found);
+        return found.size();
+    }
+
+    private E save(E entity, boolean refresh) {
         beforeSaveAction.execute(entity);
         E save = repository.save(entity);
+        if (!refresh) {
+            return save;
+        }
 
         return repository.findById(save.getId())
                 .orElseThrow(() -> new NotFoundException(save.getId()));
     }
 
 
-    private void failIfMultiLevel(Collection<I> chain) {
+    @SuppressWarnings("unchecked")
+    private Slice<E> findAllAfter(KeysetPageRequest pageable) {
+        if (!(repository instanceof KeysetRepository)) {
+            throw new UnsupportedCrudOperationException(repository + " must implement " + KeysetRepository.class.getName() + " to support keyset pagination");
+        }
+
+        KeysetRepository<E, I> keysetRepository = (KeysetRepository<E, I>) repository;
+        I after = (I) pageable.getAfter();
+        return Objects.isNull(after)
+                ? keysetRepository.findAllBy(pageable)
+                : keysetRepository.findByIdGreaterThan(after, pageable);
+    }
+
+    private List<E> findAllInOrder(List<E> entities) {
+        List<I> ids = entities.stream()
+                .map(WithId::getId)
+                .collect(Collectors.toList());
+
+        Map<I, E> found = toList(repository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(WithId::getId, Function.identity()));
+
+        return ids.stream()
+                .map(id -> {
+                    E entity = found.get(id);
+                    if (Objects.isNull(entity)) {
+                        throw new NotFoundException(id);
+                    }
+                    return entity;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static <T> List<T> toList(Iterable<T> iterable) {
+        return StreamSupport.stream(iterable.spliterator(), false)
+                .collect(Collectors.toList());
+    }
+
+    private void failIfMultiLevel(IdChain<I> chain) {
         if (!chain.isEmpty()) {
             log.error("{} can only be used with single level endpoints, define a primary CrudService to this entity", this.getClass());
             throw new IllegalStateException(this.getClass() + " can only be used with single level endpoints, define a primary CrudService to this entity");
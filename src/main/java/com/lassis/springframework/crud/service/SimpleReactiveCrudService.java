@@ -0,0 +1,99 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.exception.CreateNonEmptyIdException;
+import com.lassis.springframework.crud.exception.NotFoundException;
+import com.lassis.springframework.crud.exception.UnsupportedCrudOperationException;
+import com.lassis.springframework.crud.exception.UpdateIdConflictException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import reactor.core.publisher.Mono;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * {@link ReactiveCrudService} of a single level endpoint backed by a reactive repository.
+ */
+@RequiredArgsConstructor
+public class SimpleReactiveCrudService<E extends WithId<I>, I extends Serializable> implements ReactiveCrudService<E, I> {
+    private final ReactiveSortingRepository<E, I> repository;
+    private final BeforeSave<E> beforeSaveAction;
+    private final UpdateValuesSetter<E> updateSetter;
+
+    @Override
+    public Mono<E> create(IdChain<I> chain, E obj) {
+        if (!chain.isEmpty()) {
+            return failMultiLevel();
+        }
+
+        if (Objects.nonNull(obj.getId())) {
+            return Mono.error(new CreateNonEmptyIdException());
+        }
+
+        beforeSaveAction.execute(obj);
+        return repository.save(obj);
+    }
+
+    @Override
+    public Mono<E> update(IdChain<I> chain, I i, E obj) {
+        if (!chain.isEmpty()) {
+            return failMultiLevel();
+        }
+
+        if (Objects.nonNull(obj.getId()) && !Objects.equals(i, obj.getId())) {
+            return Mono.error(new UpdateIdConflictException(i, obj.getId()));
+        }
+
+        return findById(i)
+                .flatMap(dbObj -> {
+                    updateSetter.update(dbObj, obj);
+                    beforeSaveAction.execute(dbObj);
+                    return repository.save(dbObj);
+                });
+    }
+
+    @Override
+    public Mono<E> get(IdChain<I> chain, I i) {
+        if (!chain.isEmpty()) {
+            return failMultiLevel();
+        }
+
+        return findById(i);
+    }
+
+    @Override
+    public Mono<Slice<E>> all(IdChain<I> chain, Pageable pageable) {
+        if (!chain.isEmpty()) {
+            return failMultiLevel();
+        }
+
+        if (pageable instanceof KeysetPageRequest) {
+            return Mono.error(new UnsupportedCrudOperationException(getClass() + " does not support keyset pagination"));
+        }
+        return ReactiveSlices.of(repository.findAll(pageable.getSort()), pageable);
+    }
+
+    @Override
+    public Mono<Void> deleteById(IdChain<I> chain, I i) {
+        if (!chain.isEmpty()) {
+            return failMultiLevel();
+        }
+
+        return repository.existsById(i)
+                .flatMap(exists -> exists
+                        ? repository.deleteById(i)
+                        : Mono.error(new NotFoundException(i)));
+    }
+
+    private Mono<E> findById(I i) {
+        return repository.findById(i)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException(i)));
+    }
+
+    private <T> Mono<T> failMultiLevel() {
+        return Mono.error(new IllegalStateException(getClass() + " can only be used with single level endpoints, define a primary ReactiveCrudService to this entity"));
+    }
+}
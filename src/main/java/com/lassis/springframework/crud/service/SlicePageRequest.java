@@ -0,0 +1,39 @@
+package com.lassis.springframework.crud.service;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Page request answered with a {@link org.springframework.data.domain.Slice}, the elements are not counted.
+ */
+public class SlicePageRequest extends PageRequest {
+    private static final long serialVersionUID = 1L;
+
+    protected SlicePageRequest(int page, int size, Sort sort) {
+        super(page, size, sort);
+    }
+
+    public static SlicePageRequest of(int page, int size, Sort sort) {
+        return new SlicePageRequest(page, size, sort);
+    }
+
+    @Override
+    public SlicePageRequest next() {
+        return new SlicePageRequest(getPageNumber() + 1, getPageSize(), getSort());
+    }
+
+    @Override
+    public SlicePageRequest previous() {
+        return getPageNumber() == 0 ? this : new SlicePageRequest(getPageNumber() - 1, getPageSize(), getSort());
+    }
+
+    @Override
+    public SlicePageRequest first() {
+        return new SlicePageRequest(0, getPageSize(), getSort());
+    }
+
+    @Override
+    public SlicePageRequest withPage(int pageNumber) {
+        return new SlicePageRequest(pageNumber, getPageSize(), getSort());
+    }
+}
@@ -0,0 +1,18 @@
+package com.lassis.springframework.crud.service;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Capability of a repository to be read with a {@link SlicePageRequest} without counting the elements, its method is
+ * derived by Spring Data.
+ *
+ * @param <E> entity type
+ */
+public interface SliceRepository<E> {
+
+    /**
+     * @return the elements of the page without counting them all
+     */
+    Slice<E> findAllBy(Pageable pageable);
+}
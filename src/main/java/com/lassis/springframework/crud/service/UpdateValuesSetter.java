@@ -2,7 +2,11 @@ package com.lassis.springframework.crud.service;
 
 import com.lassis.springframework.crud.entity.WithId;
 
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
 import java.io.Serializable;
+import java.util.Set;
 
 /**
  * event that happens before an update to the entity manager. Used to set the values to an entity
@@ -18,4 +22,16 @@ public interface UpdateValuesSetter<T extends WithId<? extends Serializable>> {
      * @param nieuwe the nieuwe received as input
      */
     void update(T old, T nieuwe);
+
+    /**
+     * set only the given properties of nieuwe into old
+     */
+    default void update(T old, T nieuwe, Set<String> properties) {
+        BeanWrapper source = PropertyAccessorFactory.forBeanPropertyAccess(nieuwe);
+        BeanWrapper target = PropertyAccessorFactory.forBeanPropertyAccess(old);
+
+        for (String property : properties) {
+            target.setPropertyValue(property, source.getPropertyValue(property));
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package com.lassis.springframework.crud.service;
+
+import java.io.Serializable;
+import java.util.Optional;
+
+/**
+ * Capability of a repository to read the {@code @Version} of an entity without loading it:
+ * <pre>
+ * &#64;Query("select p.version from Product p where p.id = :id")
+ * Optional&lt;Long&gt; findVersionById(&#64;Param("id") Long id);
+ * </pre>
+ *
+ * @param <I> id type
+ * @param <V> version type
+ */
+public interface VersionRepository<I extends Serializable, V> {
+
+    /**
+     * @return the version of the entity, empty if it does not exist
+     */
+    Optional<V> findVersionById(I i);
+}
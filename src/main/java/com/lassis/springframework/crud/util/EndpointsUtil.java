@@ -7,17 +7,22 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import com.lassis.springframework.crud.configuration.CRUDPathProperties;
 import com.lassis.springframework.crud.configuration.CRUDProperties;
 import com.lassis.springframework.crud.exception.ReadEndpointFileException;
+import com.lassis.springframework.crud.pojo.PaginationType;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpMethod;
 import org.springframework.lang.NonNull;
+import org.springframework.util.ReflectionUtils;
 
 import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -26,6 +31,7 @@ import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.collectingAndThen;
 import static org.springframework.http.HttpMethod.DELETE;
 import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.PATCH;
 import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpMethod.PUT;
 
@@ -33,7 +39,15 @@ import static org.springframework.http.HttpMethod.PUT;
 @Slf4j
 public class EndpointsUtil {
 
-    private static final Set<HttpMethod> ALLOWED_HTTP_METHODS = Stream.of(GET, POST, PUT, DELETE)
+    private static final Set<HttpMethod> ALLOWED_HTTP_METHODS = Stream.of(GET, POST, PUT, PATCH, DELETE)
+            .collect(collectingAndThen(Collectors.toSet(), Collections::unmodifiableSet));
+
+    private static final int DEFAULT_BULK_CHUNK_SIZE = 500;
+
+    /**
+     * matched by name so no persistence provider is needed at compile time
+     */
+    private static final Set<String> DB_GENERATED_ANNOTATIONS = Stream.of("Generated", "GeneratorType", "CreationTimestamp", "UpdateTimestamp", "Formula", "ColumnDefault")
             .collect(collectingAndThen(Collectors.toSet(), Collections::unmodifiableSet));
 
     @NonNull
@@ -68,6 +82,8 @@ public class EndpointsUtil {
             nonNullEndpointsCollection(endpoint);
             useDefaultMethodsIfNeeded(config, endpoint);
             useDefaultPaginationIfNeeded(config, endpoint);
+            useDefaultRefreshAfterSaveIfNeeded(endpoint);
+            useDefaultBulkChunkSizeIfNeeded(config, endpoint);
 
             configureEndpoints(config, endpoint.getEndpoints(), endpoint);
         }
@@ -77,6 +93,44 @@ public class EndpointsUtil {
         if (isNull(endpoint.getPageSize())) {
             endpoint.setPageSize(config.getPageSize());
         }
+
+        if (isNull(endpoint.getPagination())) {
+            endpoint.setPagination(PaginationType.OFFSET);
+        }
+    }
+
+    private void useDefaultBulkChunkSizeIfNeeded(CRUDProperties config, CRUDPathProperties endpoint) {
+        if (nonNull(endpoint.getBulkChunkSize())) {
+            return;
+        }
+
+        endpoint.setBulkChunkSize(nonNull(config.getBulkChunkSize()) ? config.getBulkChunkSize() : DEFAULT_BULK_CHUNK_SIZE);
+    }
+
+    private void useDefaultRefreshAfterSaveIfNeeded(CRUDPathProperties endpoint) {
+        if (nonNull(endpoint.getRefreshAfterSave())) {
+            return;
+        }
+
+        boolean dbGenerated = nonNull(endpoint.getEntityClass()) && hasDbGeneratedValues(endpoint.getEntityClass());
+        log.debug("{} has values generated by the database: {}", endpoint.getEntityClass(), dbGenerated);
+        endpoint.setRefreshAfterSave(dbGenerated);
+    }
+
+    private boolean hasDbGeneratedValues(Class<?> entityClass) {
+        AtomicBoolean found = new AtomicBoolean();
+        ReflectionUtils.doWithFields(entityClass, f -> found.set(true), EndpointsUtil::isDbGenerated);
+        ReflectionUtils.doWithMethods(entityClass, m -> found.set(true), EndpointsUtil::isDbGenerated);
+        return found.get();
+    }
+
+    private boolean isDbGenerated(AnnotatedElement element) {
+        for (Annotation annotation : element.getAnnotations()) {
+            if (DB_GENERATED_ANNOTATIONS.contains(annotation.annotationType().getSimpleName())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void useDefaultMethodsIfNeeded(CRUDProperties config, CRUDPathProperties endpoint) {
@@ -2,7 +2,11 @@ package com.lassis.springframework.crud;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lassis.springframework.crud.configuration.EnableCrud;
+import com.lassis.springframework.crud.dto.CustomerDto;
+import com.lassis.springframework.crud.dto.UserDto;
 import com.lassis.springframework.crud.entity.WithId;
+import com.lassis.springframework.crud.matcher.CaptorMatcher;
+import com.lassis.springframework.crud.repository.CustomerRepository;
 import com.lassis.springframework.crud.repository.ProductDetailLanguageRepository;
 import com.lassis.springframework.crud.repository.ProductDetailRepository;
 import com.lassis.springframework.crud.repository.ProductRepository;
@@ -23,27 +27,41 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEntityManager;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -74,6 +92,9 @@ public class CrudEndpointsTest {
     @Autowired
     ProductDetailLanguageRepository productDetailLanguageRepository;
 
+    @Autowired
+    CustomerRepository customerRepository;
+
     ObjectMapper objectMapper = new ObjectMapper();
 
     @BeforeEach
@@ -81,6 +102,7 @@ public class CrudEndpointsTest {
         productDetailLanguageRepository.deleteAll();
         productDetailRepository.deleteAll();
         productRepository.deleteAll();
+        customerRepository.deleteAll();
     }
 
     @Test
@@ -147,6 +169,76 @@ public class CrudEndpointsTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldAnswerNotModifiedFromBodyHash() throws Exception {
+        Product p = productRepository.save(newProduct());
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/products/" + p.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("\"")))
+                .andExpect(jsonPath("$.data.id", is(p.getId()), Long.class))
+                .andReturn();
+        String eTag = result.getResponse().getHeader("ETag");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/" + p.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        p.setName(Instancio.create(String.class));
+        mockMvc.perform(MockMvcRequestBuilders.put("/api/products/" + p.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(p)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/" + p.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name", is(p.getName())));
+    }
+
+    @Test
+    void shouldNotTagBodyUnlessEnabled() throws Exception {
+        Product p = productRepository.save(newProduct());
+        ProductDetail d = productDetailRepository.save(newProductDetail(p));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/" + p.getId() + "/details/" + d.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.data.id", is(d.getId()), Long.class));
+    }
+
+    @Test
+    void shouldDoCreateReturningMinimal() throws Exception {
+        Product p = newProduct();
+
+        MockHttpServletRequestBuilder post = MockMvcRequestBuilders.post("/api/products")
+                .header("Prefer", "return=minimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(p));
+
+        mockMvc.perform(post)
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", startsWith("http://localhost/api/products/")))
+                .andExpect(header().string("Preference-Applied", "return=minimal"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldDoUpdateReturningMinimal() throws Exception {
+        Product p = productRepository.save(newProduct());
+        p.setName(Instancio.create(String.class));
+
+        MockHttpServletRequestBuilder put = MockMvcRequestBuilders.put("/api/products/" + p.getId())
+                .header("Prefer", "return=minimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(p));
+
+        mockMvc.perform(put)
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Location", "http://localhost/api/products/" + p.getId()));
+
+        assertThat(productRepository.findById(p.getId()))
+                .hasValueSatisfying(saved -> assertThat(saved.getName()).isEqualTo(p.getName()));
+    }
+
     @Test
     void shouldDoUpdate() throws Exception {
         Product p = newProduct();
@@ -171,6 +263,56 @@ public class CrudEndpointsTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldDoPatchSettingOnlyGivenProperties() throws Exception {
+        Product p = productRepository.save(newProduct());
+        String name = Instancio.create(String.class);
+
+        MockHttpServletRequestBuilder patch = MockMvcRequestBuilders.patch("/api/products/" + p.getId())
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType("application/merge-patch+json")
+                .content("{\"name\":\"" + name + "\",\"description\":null}");
+
+        mockMvc.perform(patch)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id", is(p.getId()), Long.class))
+                .andExpect(jsonPath("$.data.name", is(name)))
+                .andExpect(jsonPath("$.data.description", nullValue()));
+
+        assertThat(productRepository.findById(p.getId()))
+                .hasValueSatisfying(saved -> {
+                    assertThat(saved.getName()).isEqualTo(name);
+                    assertThat(saved.getDescription()).isNull();
+                });
+    }
+
+    @Test
+    void shouldKeepPropertiesMissingFromPatch() throws Exception {
+        Product p = productRepository.save(newProduct());
+        String name = Instancio.create(String.class);
+
+        MockHttpServletRequestBuilder patch = MockMvcRequestBuilders.patch("/api/products/" + p.getId())
+                .contentType("application/merge-patch+json")
+                .content("{\"name\":\"" + name + "\"}");
+
+        mockMvc.perform(patch)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name", is(name)))
+                .andExpect(jsonPath("$.data.description", is(p.getDescription())));
+    }
+
+    @Test
+    void shouldRejectPatchThatIsNotAnObject() throws Exception {
+        Product p = productRepository.save(newProduct());
+
+        MockHttpServletRequestBuilder patch = MockMvcRequestBuilders.patch("/api/products/" + p.getId())
+                .contentType("application/merge-patch+json")
+                .content("[]");
+
+        mockMvc.perform(patch)
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldTryDoUpdateWithConflictId() throws Exception {
         Product create = newProduct();
@@ -284,6 +426,51 @@ public class CrudEndpointsTest {
                 .andExpect(jsonPath("$.data[0].id", is(d.getId()), Long.class));
     }
 
+    @Test
+    void shouldDoATwoLevelGetWithKeysetPagination() throws Exception {
+        Product p = productRepository.save(newProduct());
+
+        List<ProductDetail> toSave = Instancio.of(baseModel(ProductDetail.class))
+                .set(Select.all(Product.class), p)
+                .stream()
+                .limit(5)
+                .collect(Collectors.toList());
+
+        List<ProductDetail> details = StreamSupport.stream(productDetailRepository.saveAll(toSave).spliterator(), false)
+                .sorted(Comparator.comparing(ProductDetail::getId))
+                .collect(Collectors.toList());
+
+        String url = "/api/products/" + p.getId() + "/details";
+
+        // first page
+        String next = "K2." + keysetToken(details.get(1).getId());
+        MockHttpServletRequestBuilder get = MockMvcRequestBuilders.get(url + "?size=2").accept(MediaType.APPLICATION_JSON_VALUE);
+        mockMvc.perform(get)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].id", is(details.get(0).getId()), Long.class))
+                .andExpect(jsonPath("$.meta.first", is("K2")))
+                .andExpect(jsonPath("$.meta.prev", nullValue()))
+                .andExpect(jsonPath("$.meta.next", is(next)));
+
+        // second page
+        next = "K2." + keysetToken(details.get(3).getId());
+        get = MockMvcRequestBuilders.get(url + "?page=K2." + keysetToken(details.get(1).getId())).accept(MediaType.APPLICATION_JSON_VALUE);
+        mockMvc.perform(get)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].id", is(details.get(2).getId()), Long.class))
+                .andExpect(jsonPath("$.meta.next", is(next)));
+
+        // last page
+        get = MockMvcRequestBuilders.get(url + "?page=" + next).accept(MediaType.APPLICATION_JSON_VALUE);
+        mockMvc.perform(get)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].id", is(details.get(4).getId()), Long.class))
+                .andExpect(jsonPath("$.meta.next", nullValue()));
+    }
+
     @Test
     void shouldBeNotFoundATwoLevelGet() throws Exception {
         MockHttpServletRequestBuilder get = MockMvcRequestBuilders.get("/api/products/9999/details")
@@ -341,6 +528,381 @@ public class CrudEndpointsTest {
                 .andExpect(jsonPath("$.data.id").doesNotExist());
     }
 
+    @Test
+    void shouldMapADtoWithoutAConverterBean() throws Exception {
+        CustomerDto dto = new CustomerDto();
+        dto.setName(Instancio.create(String.class));
+        dto.setEmail(Instancio.create(String.class));
+
+        MockHttpServletRequestBuilder post = MockMvcRequestBuilders.post("/api/customers")
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(dto));
+
+        CaptorMatcher<Long> idCaptorMatcher = new CaptorMatcher<>(notNullValue(Long.class));
+        mockMvc.perform(post)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.data.id", idCaptorMatcher, Long.class))
+                .andExpect(jsonPath("$.data.name", is(dto.getName())))
+                .andExpect(jsonPath("$.data.email", is(dto.getEmail())))
+                .andExpect(jsonPath("$.data.notes").doesNotExist());
+
+        Long id = idCaptorMatcher.getLastValue().orElseThrow(() -> new AssertionError("customer id response is null"));
+        assertThat(customerRepository.findById(id))
+                .hasValueSatisfying(saved -> assertThat(saved.getEmail()).isEqualTo(dto.getEmail()));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/customers/" + id).accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.id", is(id), Long.class))
+                .andExpect(jsonPath("$.data.name", is(dto.getName())));
+    }
+
+    @Test
+    void shouldDoBulkCreateReportingEveryElement() throws Exception {
+        UserDto valid = new UserDto();
+        valid.setName(Instancio.create(String.class));
+        UserDto invalid = new UserDto();
+
+        MockHttpServletRequestBuilder post = MockMvcRequestBuilders.post("/api/users/_bulk")
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(Arrays.asList(valid, invalid, valid)));
+
+        mockMvc.perform(post)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(3)))
+                .andExpect(jsonPath("$.data[0].status", is(201)))
+                .andExpect(jsonPath("$.data[0].id", notNullValue()))
+                .andExpect(jsonPath("$.data[0].data.name", is(valid.getName())))
+                .andExpect(jsonPath("$.data[1].index", is(1)))
+                .andExpect(jsonPath("$.data[1].status", is(400)))
+                .andExpect(jsonPath("$.data[1].violations[0].field", is("name")))
+                .andExpect(jsonPath("$.data[2].status", is(201)));
+    }
+
+    @Test
+    void shouldReportTheElementsOfAFailedBulkCreateChunk() throws Exception {
+        UserDto valid = new UserDto();
+        valid.setName(Instancio.create(String.class));
+        UserDto tooLong = new UserDto();
+        tooLong.setName(String.join("", Collections.nCopies(300, "a")));
+
+        MockHttpServletRequestBuilder post = MockMvcRequestBuilders.post("/api/users/_bulk")
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(Arrays.asList(valid, valid, tooLong, valid)));
+
+        mockMvc.perform(post)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(4)))
+                .andExpect(jsonPath("$.data[0].status", is(201)))
+                .andExpect(jsonPath("$.data[1].status", is(201)))
+                .andExpect(jsonPath("$.data[2].status", is(500)))
+                .andExpect(jsonPath("$.data[2].reason", notNullValue()))
+                .andExpect(jsonPath("$.data[3].index", is(3)))
+                .andExpect(jsonPath("$.data[3].status", is(500)));
+
+        assertThat(productRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotTakeTheBulkPathAsAnId() throws Exception {
+        MockHttpServletRequestBuilder get = MockMvcRequestBuilders.get("/api/users/_bulk")
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(get)
+                .andExpect(status().isMethodNotAllowed())
+                .andExpect(header().string("Allow", containsString("POST")));
+    }
+
+    @Test
+    void shouldDoATwoLevelBulkCreate() throws Exception {
+        Product p = productRepository.save(newProduct());
+
+        List<ProductDetail> details = Arrays.asList(newProductDetail(p), newProductDetail(p));
+
+        MockHttpServletRequestBuilder post = MockMvcRequestBuilders.post("/api/products/" + p.getId() + "/details/_bulk")
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(details));
+
+        mockMvc.perform(post)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].status", is(201)))
+                .andExpect(jsonPath("$.data[1].status", is(201)));
+
+        assertThat(productDetailRepository.findByProductId(p.getId(), Pageable.unpaged())).hasSize(2);
+    }
+
+    @Test
+    void shouldDoBulkUpdateReportingMissingElements() throws Exception {
+        Product p1 = productRepository.save(newProduct());
+        Product p2 = productRepository.save(newProduct());
+        p1.setName(Instancio.create(String.class));
+        p2.setName(Instancio.create(String.class));
+
+        List<Map<String, Object>> items = Arrays.asList(
+                bulkUpdateItem(p1.getId(), p1),
+                bulkUpdateItem(-1L, newProduct()),
+                bulkUpdateItem(p2.getId(), p2)
+        );
+
+        MockHttpServletRequestBuilder put = MockMvcRequestBuilders.put("/api/products/_bulk")
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(items));
+
+        mockMvc.perform(put)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(3)))
+                .andExpect(jsonPath("$.data[0].status", is(200)))
+                .andExpect(jsonPath("$.data[0].data.name", is(p1.getName())))
+                .andExpect(jsonPath("$.data[1].status", is(404)))
+                .andExpect(jsonPath("$.data[2].status", is(200)));
+
+        assertThat(productRepository.findById(p2.getId()))
+                .hasValueSatisfying(saved -> assertThat(saved.getName()).isEqualTo(p2.getName()));
+    }
+
+    @Test
+    void shouldReportTheElementsOfAFailedBulkUpdateChunk() throws Exception {
+        Product p = productRepository.save(newProduct());
+        List<ProductDetail> details = new ArrayList<>();
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ProductDetail d = productDetailRepository.save(newProductDetail(p));
+            d.setDetail(i == 2 ? String.join("", Collections.nCopies(300, "a")) : Instancio.create(String.class));
+            details.add(d);
+            items.add(bulkUpdateItem(d.getId(), d));
+        }
+
+        MockHttpServletRequestBuilder put = MockMvcRequestBuilders.put("/api/products/" + p.getId() + "/details/_bulk")
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(items));
+
+        mockMvc.perform(put)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(4)))
+                .andExpect(jsonPath("$.data[1].status", is(200)))
+                .andExpect(jsonPath("$.data[2].status", is(500)))
+                .andExpect(jsonPath("$.data[3].status", is(500)))
+                .andExpect(jsonPath("$.data[3].id", is(details.get(3).getId()), Long.class));
+
+        assertThat(productDetailRepository.findById(details.get(1).getId()))
+                .hasValueSatisfying(saved -> assertThat(saved.getDetail()).isEqualTo(details.get(1).getDetail()));
+        assertThat(productDetailRepository.findById(details.get(3).getId()))
+                .hasValueSatisfying(saved -> assertThat(saved.getDetail()).isNotEqualTo(details.get(3).getDetail()));
+    }
+
+    @Test
+    void shouldNotBulkUpdateChildrenOfAnotherParent() throws Exception {
+        Product p = productRepository.save(newProduct());
+        Product other = productRepository.save(newProduct());
+        ProductDetail d = productDetailRepository.save(newProductDetail(other));
+
+        List<Map<String, Object>> items = Collections.singletonList(bulkUpdateItem(d.getId(), d));
+
+        MockHttpServletRequestBuilder put = MockMvcRequestBuilders.put("/api/products/" + p.getId() + "/details/_bulk")
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(items));
+
+        mockMvc.perform(put)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].status", is(404)));
+    }
+
+    @Test
+    void shouldExportAsNdjson() throws Exception {
+        List<Product> products = Arrays.asList(
+                productRepository.save(newProduct()),
+                productRepository.save(newProduct()),
+                productRepository.save(newProduct()));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("/api/products").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(products.size());
+        for (int i = 0; i < lines.length; i++) {
+            assertThat(objectMapper.readValue(lines[i], Product.class).getId()).isEqualTo(products.get(i).getId());
+        }
+    }
+
+    @Test
+    void shouldNotExportChildrenOfMissingParent() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/products/99999/details").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldGetByManyIds() throws Exception {
+        Product p1 = productRepository.save(newProduct());
+        Product p2 = productRepository.save(newProduct());
+
+        MockHttpServletRequestBuilder get = MockMvcRequestBuilders.get("/api/products?ids=" + p2.getId() + ",-1," + p1.getId())
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(get)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.data[0].id", is(p2.getId()), Long.class))
+                .andExpect(jsonPath("$.data[1].id", is(p1.getId()), Long.class))
+                .andExpect(jsonPath("$.meta.requested", is(3)))
+                .andExpect(jsonPath("$.meta.missing", hasSize(1)))
+                .andExpect(jsonPath("$.meta.missing[0]", is(-1L), Long.class));
+    }
+
+    @Test
+    void shouldDoATwoLevelGetByManyIds() throws Exception {
+        Product p = productRepository.save(newProduct());
+        ProductDetail d = productDetailRepository.save(newProductDetail(p));
+
+        Product other = productRepository.save(newProduct());
+        ProductDetail stranger = productDetailRepository.save(newProductDetail(other));
+
+        MockHttpServletRequestBuilder get = MockMvcRequestBuilders.get("/api/products/" + p.getId() + "/details")
+                .param("ids", String.valueOf(d.getId()))
+                .param("ids", String.valueOf(stranger.getId()))
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(get)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].id", is(d.getId()), Long.class))
+                .andExpect(jsonPath("$.meta.missing[0]", is(stranger.getId()), Long.class));
+    }
+
+    @Test
+    void shouldNotGetByManyInvalidIds() throws Exception {
+        MockHttpServletRequestBuilder get = MockMvcRequestBuilders.get("/api/products?ids=1,a")
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(get)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.violations[0].field", is("ids")));
+    }
+
+    @Test
+    void shouldDoBulkDeleteByIds() throws Exception {
+        Product p1 = productRepository.save(newProduct());
+        Product p2 = productRepository.save(newProduct());
+        Product kept = productRepository.save(newProduct());
+
+        MockHttpServletRequestBuilder delete = MockMvcRequestBuilders.delete("/api/products?ids=" + p1.getId() + "," + p2.getId() + ",-1")
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(delete)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.requested", is(3)))
+                .andExpect(jsonPath("$.data.deleted", is(2)));
+
+        assertThat(productRepository.findAll()).extracting(Product::getId).containsExactly(kept.getId());
+    }
+
+    @Test
+    void shouldNotBulkDeleteARootCollectionWithoutIds() throws Exception {
+        MockHttpServletRequestBuilder delete = MockMvcRequestBuilders.delete("/api/products")
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(delete)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.violations[0].field", is("ids")));
+    }
+
+    @Test
+    void shouldDoATwoLevelDeleteOfAllChildren() throws Exception {
+        Product p = productRepository.save(newProduct());
+        productDetailRepository.save(newProductDetail(p));
+        productDetailRepository.save(newProductDetail(p));
+
+        Product other = productRepository.save(newProduct());
+        ProductDetail kept = productDetailRepository.save(newProductDetail(other));
+
+        MockHttpServletRequestBuilder delete = MockMvcRequestBuilders.delete("/api/products/" + p.getId() + "/details")
+                .param("all", "true")
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(delete)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.requested").doesNotExist())
+                .andExpect(jsonPath("$.data.deleted", is(2)));
+
+        assertThat(productDetailRepository.findAll()).extracting(ProductDetail::getId).containsExactly(kept.getId());
+    }
+
+    @Test
+    void shouldNotDeleteAllChildrenWithoutBeingAsked() throws Exception {
+        Product p = productRepository.save(newProduct());
+        ProductDetail kept = productDetailRepository.save(newProductDetail(p));
+
+        for (String ids : Arrays.asList("", ",", " , ")) {
+            MockHttpServletRequestBuilder delete = MockMvcRequestBuilders.delete("/api/products/" + p.getId() + "/details")
+                    .param("ids", ids)
+                    .accept(MediaType.APPLICATION_JSON_VALUE);
+
+            mockMvc.perform(delete)
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.violations[0].field", is("ids")));
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/api/products/" + p.getId() + "/details")
+                        .accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.violations[0].field", is("ids")));
+
+        assertThat(productDetailRepository.findAll()).extracting(ProductDetail::getId).containsExactly(kept.getId());
+    }
+
+    @Test
+    void shouldGetOnlyTheSelectedFields() throws Exception {
+        Product p = productRepository.save(newProduct());
+
+        MockHttpServletRequestBuilder get = MockMvcRequestBuilders.get("/api/products/" + p.getId())
+                .param("fields", "name")
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(get)
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.data.id", is(p.getId().intValue())))
+                .andExpect(jsonPath("$.data.name", is(p.getName())))
+                .andExpect(jsonPath("$.data.description").doesNotExist());
+    }
+
+    @Test
+    void shouldListOnlyTheSelectedFields() throws Exception {
+        productRepository.save(newProduct());
+
+        MockHttpServletRequestBuilder get = MockMvcRequestBuilders.get("/api/products")
+                .param("fields", "description")
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(get)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").exists())
+                .andExpect(jsonPath("$.data[0]", hasKey("description")))
+                .andExpect(jsonPath("$.data[0].name").doesNotExist())
+                .andExpect(jsonPath("$.meta").exists());
+    }
+
+    @Test
+    void shouldNotSelectAnUnknownField() throws Exception {
+        Product p = productRepository.save(newProduct());
+
+        MockHttpServletRequestBuilder get = MockMvcRequestBuilders.get("/api/products/" + p.getId())
+                .param("fields", "name,secret")
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(get)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.violations[0].field", is("fields")));
+    }
+
     @Test
     void shouldFailOnValidation() throws Exception {
         User u = new User();
@@ -357,6 +919,17 @@ public class CrudEndpointsTest {
                 .andExpect(jsonPath("$.violations[0].reason").value("must not be blank"));
     }
 
+    private static Map<String, Object> bulkUpdateItem(Long id, Object body) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("id", id);
+        item.put("body", body);
+        return item;
+    }
+
+    private static String keysetToken(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
     public static Product newProduct() {
         return Instancio.create(baseModel(Product.class));
     }
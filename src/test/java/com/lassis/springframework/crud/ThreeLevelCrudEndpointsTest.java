@@ -4,6 +4,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lassis.springframework.crud.configuration.EnableCrud;
 import com.lassis.springframework.crud.matcher.CaptorMatcher;
+import com.lassis.springframework.crud.metrics.CrudMetrics;
+import com.lassis.springframework.crud.metrics.OperationRecorder;
 import com.lassis.springframework.crud.repository.ProductDetailLanguageRepository;
 import com.lassis.springframework.crud.repository.ProductDetailRepository;
 import com.lassis.springframework.crud.repository.ProductRepository;
@@ -18,22 +20,37 @@ import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
 import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureTestEntityManager;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static com.lassis.springframework.crud.CrudEndpointsTest.getProductDetailLanguage;
 import static com.lassis.springframework.crud.CrudEndpointsTest.newProduct;
 import static com.lassis.springframework.crud.CrudEndpointsTest.newProductDetail;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -47,6 +64,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureTestEntityManager
 @AutoConfigureDataJpa
 @AutoConfigureMockMvc
+@Import(ThreeLevelCrudEndpointsTest.LastRequestMetrics.class)
 class ThreeLevelCrudEndpointsTest {
 
     @Autowired
@@ -143,6 +161,133 @@ class ThreeLevelCrudEndpointsTest {
                 .andExpect(status().isNoContent());
     }
 
+    @Test
+    void should_answer_not_modified_from_version() throws Exception {
+        Product p = productRepository.save(newProduct());
+        ProductDetail d = productDetailRepository.save(newProductDetail(p));
+        Language lang = productDetailLanguageRepository.save(getProductDetailLanguage(d));
+
+        String url = "/api/products/" + p.getId() + "/details/" + d.getId() + "/languages";
+        String eTag = "W/\"" + lang.getVersion() + "\"";
+
+        mockMvc.perform(MockMvcRequestBuilders.get(url + "/" + lang.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", eTag));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(url + "/" + lang.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+
+        MvcResult page = mockMvc.perform(MockMvcRequestBuilders.get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.get(url).header("If-None-Match", page.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified());
+
+        productDetailLanguageRepository.save(getProductDetailLanguage(d));
+
+        mockMvc.perform(MockMvcRequestBuilders.get(url).header("If-None-Match", page.getResponse().getHeader("ETag")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void should_export_in_batches() throws Exception {
+        Product p = productRepository.save(newProduct());
+        ProductDetail d = productDetailRepository.save(newProductDetail(p));
+        for (int i = 0; i < 3; i++) {
+            productDetailLanguageRepository.save(getProductDetailLanguage(d));
+        }
+
+        String url = "/api/products/" + p.getId() + "/details/" + d.getId() + "/languages";
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get(url).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines[2]).get("id").asLong()).isPositive();
+    }
+
+    @Test
+    void should_get_all_without_counting() throws Exception {
+        Product p = productRepository.save(newProduct());
+        ProductDetail d = productDetailRepository.save(newProductDetail(p));
+        for (int i = 0; i < 3; i++) {
+            productDetailLanguageRepository.save(getProductDetailLanguage(d));
+        }
+
+        String url = "/api/products/" + p.getId() + "/details/" + d.getId() + "/languages";
+
+        MockHttpServletRequestBuilder getAll = MockMvcRequestBuilders.get(url + "?size=2")
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(getAll)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(2)))
+                .andExpect(jsonPath("$.meta.first", is("F0S2")))
+                .andExpect(jsonPath("$.meta.prev", nullValue()))
+                .andExpect(jsonPath("$.meta.next", is("P1S2")));
+
+        getAll = MockMvcRequestBuilders.get(url + "?page=P1S2")
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(getAll)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.meta.prev", nullValue()))
+                .andExpect(jsonPath("$.meta.next", nullValue()));
+    }
+
+    @Test
+    void should_check_the_ancestry_of_a_bulk_update_once_per_chunk() throws Exception {
+        Product p = productRepository.save(newProduct());
+        ProductDetail d = productDetailRepository.save(newProductDetail(p));
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Language lang = productDetailLanguageRepository.save(getProductDetailLanguage(d));
+            items.add(bulkUpdateItem(lang.getId(), lang));
+        }
+
+        MockHttpServletRequestBuilder put = MockMvcRequestBuilders.put("/api/products/" + p.getId() + "/details/" + d.getId() + "/languages/_bulk")
+                .accept(MediaType.APPLICATION_JSON_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsBytes(items));
+
+        mockMvc.perform(put)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(4)))
+                .andExpect(jsonPath("$.data[3].status", is(200)));
+
+        // two chunks of findIdsByAncestry, findAllById and saveAll
+        assertThat(LastRequestMetrics.DB_CALLS.get()).isEqualTo(6);
+    }
+
+    @Test
+    void should_check_the_ancestry_of_a_bulk_delete_once_per_chunk() throws Exception {
+        Product p = productRepository.save(newProduct());
+        ProductDetail d = productDetailRepository.save(newProductDetail(p));
+
+        StringJoiner ids = new StringJoiner(",");
+        for (int i = 0; i < 4; i++) {
+            ids.add(String.valueOf(productDetailLanguageRepository.save(getProductDetailLanguage(d)).getId()));
+        }
+
+        MockHttpServletRequestBuilder delete = MockMvcRequestBuilders.delete("/api/products/" + p.getId() + "/details/" + d.getId() + "/languages")
+                .param("ids", ids.toString())
+                .accept(MediaType.APPLICATION_JSON_VALUE);
+
+        mockMvc.perform(delete)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.deleted", is(4)));
+
+        // two chunks of findIdsByAncestry, findAllById, deleteAll and a relationshipChanged per child
+        assertThat(LastRequestMetrics.DB_CALLS.get()).isEqualTo(10);
+    }
+
     private MockHttpServletRequestBuilder post(Object obj, String urlTemplate) throws JsonProcessingException {
         return MockMvcRequestBuilders.post(urlTemplate)
                 .accept(MediaType.APPLICATION_JSON_VALUE)
@@ -150,4 +295,34 @@ class ThreeLevelCrudEndpointsTest {
                 .content(objectMapper.writeValueAsBytes(obj));
     }
 
+    private static Map<String, Object> bulkUpdateItem(Long id, Object body) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("id", id);
+        item.put("body", body);
+        return item;
+    }
+
+    /**
+     * keeps the database calls of the last request
+     */
+    static class LastRequestMetrics {
+        static final AtomicInteger DB_CALLS = new AtomicInteger();
+
+        @Bean
+        @Primary
+        CrudMetrics lastRequestMetrics() {
+            return new CrudMetrics() {
+                @Override
+                public boolean isEnabled() {
+                    return true;
+                }
+
+                @Override
+                public OperationRecorder operations(String endpoint, int level) {
+                    return (operation, outcome, nanos, dbCalls) -> DB_CALLS.set(dbCalls);
+                }
+            };
+        }
+    }
+
 }
@@ -3,6 +3,8 @@ package com.lassis.springframework.crud.configuration;
 import com.lassis.springframework.crud.repository.ProductDetailLanguageRepository;
 import com.lassis.springframework.crud.repository.ProductDetailRepository;
 import com.lassis.springframework.crud.repository.ProductRepository;
+import com.lassis.springframework.crud.service.AncestryResolver;
+import com.lassis.springframework.crud.service.IdChain;
 import com.lassis.springframework.crud.service.Language;
 import com.lassis.springframework.crud.service.ParentChildResolver;
 import com.lassis.springframework.crud.service.Product;
@@ -11,8 +13,12 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Configuration
 public class CrudServiceConfig {
@@ -37,11 +43,28 @@ public class CrudServiceConfig {
                 return productDetailRepository.findByProductId(parentId, pageable);
             }
 
+            @Override
+            public Slice<ProductDetail> findAllByParentIdAfter(Long parentId, Long after, Pageable pageable) {
+                return Objects.isNull(after)
+                        ? productDetailRepository.findSliceByProductId(parentId, pageable)
+                        : productDetailRepository.findByProductIdAndIdGreaterThan(parentId, after, pageable);
+            }
+
             @Override
             public boolean existsByParentIdAndId(Long parentId, Long childId) {
                 return productDetailRepository.existsByProductIdAndId(parentId, childId);
             }
 
+            @Override
+            public Set<Long> findChildIds(Long parentId, Collection<Long> childIds) {
+                return productDetailRepository.findIdsByProductIdAndIdIn(parentId, childIds);
+            }
+
+            @Override
+            public long deleteAllByParentId(Long parentId) {
+                return productDetailRepository.deleteByProductId(parentId);
+            }
+
             @Override
             public boolean existsByParentId(Long parentId) {
                 return productRepository.existsById(parentId);
@@ -71,11 +94,21 @@ public class CrudServiceConfig {
                 return childRepository.findByProductDetailId(parentId, pageable);
             }
 
+            @Override
+            public Slice<Language> findSliceByParentId(Long parentId, Pageable pageable) {
+                return childRepository.findSliceByProductDetailId(parentId, pageable);
+            }
+
             @Override
             public boolean existsByParentIdAndId(Long parentId, Long childId) {
                 return childRepository.existsByProductDetailIdAndId(parentId, childId);
             }
 
+            @Override
+            public Set<Long> findChildIds(Long parentId, Collection<Long> childIds) {
+                return childRepository.findIdsByProductDetailIdAndIdIn(parentId, childIds);
+            }
+
             @Override
             public boolean existsByParentId(Long parentId) {
                 return parentRepository.existsById(parentId);
@@ -85,4 +118,32 @@ public class CrudServiceConfig {
 
     }
 
+    @Bean
+    AncestryResolver<Language, Long> languageAncestryResolver(ProductDetailRepository productDetailRepository,
+                                                              ProductDetailLanguageRepository languageRepository) {
+
+        return new AncestryResolver<Language, Long>() {
+            @Override
+            public boolean existsAncestry(IdChain<Long> ancestors) {
+                return productDetailRepository.existsByProductIdAndId(ancestors.get(0), ancestors.get(1));
+            }
+
+            @Override
+            public Optional<Language> findByAncestry(IdChain<Long> ancestors, Long id) {
+                return languageRepository.findByProductDetailProductIdAndProductDetailIdAndId(ancestors.get(0), ancestors.get(1), id);
+            }
+
+            @Override
+            public boolean existsByAncestry(IdChain<Long> ancestors, Long id) {
+                return languageRepository.existsByProductDetailProductIdAndProductDetailIdAndId(ancestors.get(0), ancestors.get(1), id);
+            }
+
+            @Override
+            public Set<Long> findIdsByAncestry(IdChain<Long> ancestors, Collection<Long> ids) {
+                return languageRepository.findIdsByProductDetailProductIdAndProductDetailIdAndIdIn(ancestors.get(0), ancestors.get(1), ids);
+            }
+        };
+
+    }
+
 }
@@ -0,0 +1,81 @@
+package com.lassis.springframework.crud.configuration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.function.HandlerFunction;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class EndpointExecutorTest {
+    private final ServerRequest request = mock(ServerRequest.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private EndpointExecutor executor;
+
+    @BeforeEach
+    void setup() {
+        CRUDExecutorProperties properties = new CRUDExecutorProperties();
+        properties.setPoolSize(1);
+        properties.setQueueDepth(1);
+
+        executor = EndpointExecutor.of("/api/products", properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void should_handle_on_the_endpoint_pool() throws Exception {
+        // given
+        AtomicReference<String> threadName = new AtomicReference<>();
+        CountDownLatch handled = new CountDownLatch(1);
+
+        // when
+        executor.filter(request, req -> {
+            threadName.set(Thread.currentThread().getName());
+            handled.countDown();
+            return ServerResponse.ok().build();
+        });
+
+        // assert
+        assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(threadName.get()).startsWith("crud-api-products-");
+    }
+
+    @Test
+    void should_reject_when_queue_is_full() throws Exception {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        HandlerFunction<ServerResponse> slow = req -> {
+            started.countDown();
+            release.await();
+            return ServerResponse.ok().build();
+        };
+
+        executor.filter(request, slow);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.filter(request, slow);
+
+        // when
+        ServerResponse response = executor.filter(request, slow);
+
+        // assert
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.headers().getFirst("Retry-After")).isEqualTo("1");
+        assertThat(executor.activeCount()).isEqualTo(1);
+        assertThat(executor.queueDepth()).isEqualTo(1);
+        assertThat(executor.rejectedCount()).isEqualTo(1);
+    }
+}
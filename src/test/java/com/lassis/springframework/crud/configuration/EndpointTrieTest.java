@@ -0,0 +1,86 @@
+package com.lassis.springframework.crud.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.function.HandlerFunction;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EndpointTrieTest {
+    private final HandlerFunction<ServerResponse> products = req -> ServerResponse.ok().build();
+    private final HandlerFunction<ServerResponse> details = req -> ServerResponse.ok().build();
+
+    private EndpointTrie trie;
+
+    @BeforeEach
+    void setup() {
+        RouterFunction<ServerResponse> productRoutes = req -> Optional.of(products);
+        RouterFunction<ServerResponse> detailRoutes = req -> Optional.of(details);
+
+        trie = new EndpointTrie();
+        trie.add("/api/products", productRoutes);
+        trie.add("/api/products/{id0}", productRoutes);
+        trie.add("/api/products/_bulk", productRoutes);
+        trie.add("/api/products/{id0}/details", detailRoutes);
+        trie.add("/api/products/{id0}/details/{id1}", detailRoutes);
+    }
+
+    @Test
+    void should_route_to_the_endpoint_and_keep_the_ids() {
+        // given
+        ServerRequest request = request("/api/products/10/details/20");
+
+        // when
+        Optional<HandlerFunction<ServerResponse>> handler = trie.route(request);
+
+        // assert
+        assertThat(handler).containsSame(details);
+        assertThat((String[]) request.attributes().get(EndpointTrie.PATH_IDS_ATTRIBUTE)).containsExactly("10", "20");
+    }
+
+    @Test
+    void should_prefer_a_literal_segment_to_an_id() {
+        // given
+        ServerRequest request = request("/api/products/_bulk");
+
+        // when
+        Optional<HandlerFunction<ServerResponse>> handler = trie.route(request);
+
+        // assert
+        assertThat(handler).containsSame(products);
+        assertThat((String[]) request.attributes().get(EndpointTrie.PATH_IDS_ATTRIBUTE)).isEmpty();
+    }
+
+    @Test
+    void should_take_a_literal_segment_as_an_id_when_the_path_goes_on() {
+        // given
+        ServerRequest request = request("/api/products/_bulk/details/");
+
+        // when
+        Optional<HandlerFunction<ServerResponse>> handler = trie.route(request);
+
+        // assert
+        assertThat(handler).containsSame(details);
+        assertThat((String[]) request.attributes().get(EndpointTrie.PATH_IDS_ATTRIBUTE)).containsExactly("_bulk");
+    }
+
+    @Test
+    void should_not_route_an_unknown_path() {
+        assertThat(trie.route(request("/api/products/10/unknown"))).isEmpty();
+        assertThat(trie.route(request("/api"))).isEmpty();
+    }
+
+    private static ServerRequest request(String path) {
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest("GET", path);
+        ServletRequestPathUtils.parseAndCache(servletRequest);
+        return ServerRequest.create(servletRequest, Collections.emptyList());
+    }
+}
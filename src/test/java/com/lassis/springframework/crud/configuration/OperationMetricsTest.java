@@ -0,0 +1,120 @@
+package com.lassis.springframework.crud.configuration;
+
+import com.lassis.springframework.crud.exception.CreateNonEmptyIdException;
+import com.lassis.springframework.crud.exception.NotFoundException;
+import com.lassis.springframework.crud.exception.RelationshipNotFoundException;
+import com.lassis.springframework.crud.exception.UpdateIdConflictException;
+import com.lassis.springframework.crud.metrics.DbCallCounter;
+import com.lassis.springframework.crud.metrics.OperationRecorder;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import java.util.Collections;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OperationMetricsTest {
+    private final OperationRecorder recorder = mock(OperationRecorder.class);
+    private final OperationMetrics metrics = new OperationMetrics(recorder, "id0");
+
+    @Test
+    void should_record_a_get_with_its_db_calls() throws Exception {
+        // given
+        ServerRequest request = request(HttpMethod.GET, true);
+        Supplier<String> repository = DbCallCounter.counting((Supplier<String>) () -> "found");
+
+        // when
+        metrics.filter(request, req -> {
+            repository.get();
+            repository.get();
+            return ServerResponse.ok().build();
+        });
+
+        // assert
+        verify(recorder).record(eq(OperationMetrics.GET), eq(OperationMetrics.OK), anyLong(), eq(2));
+    }
+
+    @Test
+    void should_record_a_list_validation_failure() throws Exception {
+        // given
+        ServerRequest request = request(HttpMethod.GET, false);
+
+        // when
+        metrics.filter(request, req -> ServerResponse.badRequest().build());
+
+        // assert
+        verify(recorder).record(eq(OperationMetrics.LIST), eq(OperationMetrics.VALIDATION), anyLong(), eq(0));
+    }
+
+    @Test
+    void should_record_a_missing_relationship() {
+        // given
+        ServerRequest request = request(HttpMethod.PATCH, true);
+
+        // when
+        Throwable thrown = catchThrowable(() -> metrics.filter(request, req -> {
+            throw new RelationshipNotFoundException();
+        }));
+
+        // assert
+        assertThat(thrown).isInstanceOf(RelationshipNotFoundException.class);
+        verify(recorder).record(eq(OperationMetrics.UPDATE), eq(OperationMetrics.RELATIONSHIP_NOT_FOUND), anyLong(), eq(0));
+    }
+
+    @Test
+    void should_record_exceptions_by_their_response_status() {
+        // given
+        ServerRequest create = request(HttpMethod.POST, false);
+        ServerRequest update = request(HttpMethod.PUT, true);
+        ServerRequest get = request(HttpMethod.GET, true);
+        ServerRequest delete = request(HttpMethod.DELETE, true);
+
+        // when
+        catchThrowable(() -> metrics.filter(create, req -> {
+            throw new CreateNonEmptyIdException();
+        }));
+        catchThrowable(() -> metrics.filter(update, req -> {
+            throw new UpdateIdConflictException(1L, 2L);
+        }));
+        catchThrowable(() -> metrics.filter(get, req -> {
+            throw new NotFoundException(1L);
+        }));
+        catchThrowable(() -> metrics.filter(delete, req -> {
+            throw new IllegalStateException();
+        }));
+
+        // assert
+        verify(recorder).record(eq(OperationMetrics.CREATE), eq(OperationMetrics.VALIDATION), anyLong(), eq(0));
+        verify(recorder).record(eq(OperationMetrics.UPDATE), eq(OperationMetrics.VALIDATION), anyLong(), eq(0));
+        verify(recorder).record(eq(OperationMetrics.GET), eq(OperationMetrics.NOT_FOUND), anyLong(), eq(0));
+        verify(recorder).record(eq(OperationMetrics.DELETE), eq(OperationMetrics.ERROR), anyLong(), eq(0));
+    }
+
+    @Test
+    void should_not_count_db_calls_outside_of_a_request() {
+        // given
+        Supplier<String> repository = DbCallCounter.counting((Supplier<String>) () -> "found");
+
+        // when
+        repository.get();
+
+        // assert
+        assertThat(DbCallCounter.stop()).isZero();
+    }
+
+    private static ServerRequest request(HttpMethod method, boolean withId) {
+        ServerRequest request = mock(ServerRequest.class);
+        when(request.method()).thenReturn(method);
+        when(request.pathVariables()).thenReturn(withId ? Collections.singletonMap("id0", "1") : Collections.emptyMap());
+        return request;
+    }
+}
@@ -0,0 +1,16 @@
+package com.lassis.springframework.crud.dto;
+
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import java.io.Serializable;
+
+@Data
+@Valid
+public class CustomerDto implements Serializable {
+    private Long id;
+    @NotBlank
+    private String name;
+    private String email;
+}
@@ -0,0 +1,8 @@
+package com.lassis.springframework.crud.repository;
+
+import com.lassis.springframework.crud.service.Customer;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerRepository extends PagingAndSortingRepository<Customer, Long> {}
@@ -1,15 +1,41 @@
 package com.lassis.springframework.crud.repository;
 
 import com.lassis.springframework.crud.service.Language;
+import com.lassis.springframework.crud.service.VersionRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+
 @Repository
-public interface ProductDetailLanguageRepository extends PagingAndSortingRepository<Language, Long> {
+public interface ProductDetailLanguageRepository extends PagingAndSortingRepository<Language, Long>, VersionRepository<Long, Long> {
+
+    @Override
+    @Query("select l.version from Language l where l.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 
     boolean existsByProductDetailIdAndId(Long productDetailId, Long id);
 
+    @Query("select l.id from Language l where l.productDetail.id = :productDetailId and l.id in :ids")
+    Set<Long> findIdsByProductDetailIdAndIdIn(@Param("productDetailId") Long productDetailId, @Param("ids") Collection<Long> ids);
+
     Page<Language> findByProductDetailId(Long productDetailId, Pageable pageable);
+
+    Slice<Language> findSliceByProductDetailId(Long productDetailId, Pageable pageable);
+
+    Optional<Language> findByProductDetailProductIdAndProductDetailIdAndId(Long productId, Long productDetailId, Long id);
+
+    boolean existsByProductDetailProductIdAndProductDetailIdAndId(Long productId, Long productDetailId, Long id);
+
+    @Query("select l.id from Language l where l.productDetail.product.id = :productId and l.productDetail.id = :productDetailId and l.id in :ids")
+    Set<Long> findIdsByProductDetailProductIdAndProductDetailIdAndIdIn(@Param("productId") Long productId,
+                                                                      @Param("productDetailId") Long productDetailId,
+                                                                      @Param("ids") Collection<Long> ids);
 }
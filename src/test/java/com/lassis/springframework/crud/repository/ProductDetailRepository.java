@@ -3,14 +3,34 @@ package com.lassis.springframework.crud.repository;
 import com.lassis.springframework.crud.service.ProductDetail;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Set;
 
 @Repository
 public interface ProductDetailRepository extends PagingAndSortingRepository<ProductDetail, Long> {
 
     boolean existsByProductIdAndId(Long productId, Long id);
 
+    @Query("select d.id from ProductDetail d where d.product.id = :productId and d.id in :ids")
+    Set<Long> findIdsByProductIdAndIdIn(@Param("productId") Long productId, @Param("ids") Collection<Long> ids);
+
     Page<ProductDetail> findByProductId(Long productId, Pageable pageable);
 
+    Slice<ProductDetail> findSliceByProductId(Long productId, Pageable pageable);
+
+    Slice<ProductDetail> findByProductIdAndIdGreaterThan(Long productId, Long id, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ProductDetail d where d.product.id = :productId")
+    int deleteByProductId(@Param("productId") Long productId);
+
 }
@@ -0,0 +1,7 @@
+package com.lassis.springframework.crud.repository;
+
+import com.lassis.springframework.crud.service.Product;
+import com.lassis.springframework.crud.service.ProjectionRepository;
+
+public interface ProductProjectionRepository extends ProjectionRepository<Product, Long> {
+}
@@ -0,0 +1,77 @@
+package com.lassis.springframework.crud.repository;
+
+import com.lassis.springframework.crud.service.Product;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TupleElement;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class ProductProjectionRepositoryImpl implements ProductProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Product> findProjectedById(Long id, Set<String> properties) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        query.multiselect(selections(root, properties)).where(cb.equal(root.get("id"), id));
+
+        return entityManager.createQuery(query)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(ProductProjectionRepositoryImpl::toProduct);
+    }
+
+    @Override
+    public Slice<Product> findAllProjected(Set<String> properties, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> root = query.from(Product.class);
+        query.multiselect(selections(root, properties)).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        // one more to know if there is a next slice
+        List<Product> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList()
+                .stream()
+                .map(ProductProjectionRepositoryImpl::toProduct)
+                .collect(Collectors.toList());
+
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    private static List<Selection<?>> selections(Root<Product> root, Set<String> properties) {
+        return properties.stream()
+                .<Selection<?>>map(property -> root.get(property).alias(property))
+                .collect(Collectors.toList());
+    }
+
+    private static Product toProduct(Tuple tuple) {
+        Product product = new Product();
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(product);
+        for (TupleElement<?> element : tuple.getElements()) {
+            wrapper.setPropertyValue(element.getAlias(), tuple.get(element));
+        }
+        return product;
+    }
+}
@@ -1,9 +1,23 @@
 package com.lassis.springframework.crud.repository;
 
+import com.lassis.springframework.crud.service.BatchDeleteRepository;
 import com.lassis.springframework.crud.service.Product;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 
 @Repository
-public interface ProductRepository extends PagingAndSortingRepository<Product, Long> {}
+public interface ProductRepository extends PagingAndSortingRepository<Product, Long>, BatchDeleteRepository<Long>,
+        ProductProjectionRepository {
 
+    @Override
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("delete from Product p where p.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,74 @@
+package com.lassis.springframework.crud.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedCacheTest {
+
+    @Test
+    void should_count_hits_and_misses() {
+        BoundedCache<String, Boolean> cache = new BoundedCache<>(10, Duration.ofSeconds(1));
+
+        cache.put("a", Boolean.TRUE);
+
+        assertThat(cache.get("a")).isTrue();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void should_expire_entries() {
+        AtomicLong now = new AtomicLong();
+        BoundedCache<String, Boolean> cache = new BoundedCache<>(10, Duration.ofNanos(100), now::get);
+
+        cache.put("a", Boolean.TRUE);
+        now.addAndGet(99);
+        assertThat(cache.get("a")).isTrue();
+
+        now.addAndGet(1);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.evictionCount()).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void should_evict_least_recently_used() {
+        BoundedCache<Integer, Boolean> cache = new BoundedCache<>(1, Duration.ofSeconds(1));
+
+        cache.put(1, Boolean.TRUE);
+        cache.put(2, Boolean.TRUE);
+
+        assertThat(cache.get(1)).isNull();
+        assertThat(cache.get(2)).isTrue();
+        assertThat(cache.evictionCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_invalidate() {
+        BoundedCache<String, Boolean> cache = new BoundedCache<>(10, Duration.ofSeconds(1));
+
+        cache.put("a", Boolean.TRUE);
+        cache.invalidate("a");
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.evictionCount()).isZero();
+    }
+
+    @Test
+    void should_not_put_value_read_before_invalidation() {
+        BoundedCache<String, Boolean> cache = new BoundedCache<>(10, Duration.ofSeconds(1));
+
+        long stamp = cache.stamp();
+        cache.invalidate("a");
+        cache.put("a", Boolean.TRUE, stamp);
+
+        assertThat(cache.get("a")).isNull();
+    }
+}
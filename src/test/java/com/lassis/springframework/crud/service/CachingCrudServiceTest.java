@@ -0,0 +1,136 @@
+package com.lassis.springframework.crud.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import static com.lassis.springframework.crud.CrudEndpointsTest.newProduct;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingCrudServiceTest {
+
+    @Mock
+    CrudService<Product, Long> delegate;
+
+    CachingCrudService<Product, Long> service;
+
+    @BeforeEach
+    void setup() {
+        service = new CachingCrudService<>(delegate, Product.class, 10, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void should_read_through_cache() {
+        // given
+        Product p = newProduct();
+        p.setId(1L);
+        when(delegate.get(IdChain.empty(), 1L)).thenReturn(p);
+
+        // when
+        assertThat(service.get(IdChain.empty(), 1L)).isSameAs(p);
+        Product cached = service.get(IdChain.empty(), 1L);
+
+        // assert
+        assertThat(cached).isNotSameAs(p).usingRecursiveComparison().isEqualTo(p);
+        verify(delegate, times(1)).get(IdChain.empty(), 1L);
+        assertThat(service.getStatistics().hitCount()).isEqualTo(1);
+        assertThat(service.getStatistics().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void should_forget_updated_and_deleted_entities() {
+        // given
+        Product p = newProduct();
+        p.setId(1L);
+        when(delegate.get(IdChain.empty(), 1L)).thenReturn(p);
+        service.get(IdChain.empty(), 1L);
+
+        // when
+        service.update(IdChain.empty(), 1L, p);
+        service.get(IdChain.empty(), 1L);
+        service.deleteById(IdChain.empty(), 1L);
+        service.get(IdChain.empty(), 1L);
+
+        // assert
+        verify(delegate, times(3)).get(IdChain.empty(), 1L);
+    }
+
+    @Test
+    void should_forget_entities_changed_elsewhere() {
+        // given
+        Product p = newProduct();
+        p.setId(1L);
+        when(delegate.get(IdChain.empty(), 1L)).thenReturn(p);
+        service.get(IdChain.empty(), 1L);
+
+        // when
+        service.entitiesChanged();
+        service.get(IdChain.empty(), 1L);
+
+        // assert
+        verify(delegate, times(2)).get(IdChain.empty(), 1L);
+        verify(delegate).entitiesChanged();
+    }
+
+    @Test
+    void should_select_properties_of_cached_entity() {
+        // given
+        Product p = newProduct();
+        p.setId(1L);
+        when(delegate.get(IdChain.empty(), 1L)).thenReturn(p);
+        service.get(IdChain.empty(), 1L);
+
+        // when
+        Product partial = service.get(IdChain.empty(), 1L, new HashSet<>(Arrays.asList("id", "name")));
+
+        // assert
+        assertThat(partial.getId()).isEqualTo(1L);
+        assertThat(partial.getName()).isEqualTo(p.getName());
+        assertThat(partial.getDescription()).isNull();
+    }
+
+    @Test
+    void should_read_only_missing_ids() {
+        // given
+        Product p1 = newProduct();
+        p1.setId(1L);
+        Product p2 = newProduct();
+        p2.setId(2L);
+        when(delegate.get(IdChain.empty(), 1L)).thenReturn(p1);
+        when(delegate.getAll(IdChain.empty(), Collections.singletonList(2L))).thenReturn(Collections.singletonMap(2L, p2));
+        service.get(IdChain.empty(), 1L);
+
+        // when
+        Map<Long, Product> found = service.getAll(IdChain.empty(), Arrays.asList(1L, 2L));
+
+        // assert
+        assertThat(found).containsOnlyKeys(1L, 2L);
+    }
+
+    @Test
+    void should_not_cache_nested_reads() {
+        // given
+        Product p = newProduct();
+        IdChain<Long> chain = IdChain.of(1L);
+        when(delegate.get(chain, 2L)).thenReturn(p);
+
+        // when
+        service.get(chain, 2L);
+        service.get(chain, 2L);
+
+        // assert
+        verify(delegate, times(2)).get(chain, 2L);
+    }
+}
@@ -0,0 +1,91 @@
+package com.lassis.springframework.crud.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingParentChildResolverTest {
+
+    @Mock
+    ParentChildResolver<Product, ProductDetail, Long> delegate;
+
+    @Test
+    void should_cache_positive_checks_only() {
+        // given
+        CachingParentChildResolver<Product, ProductDetail, Long> resolver =
+                new CachingParentChildResolver<>(delegate, 10, Duration.ofMinutes(1));
+        when(delegate.existsByParentIdAndId(1L, 2L)).thenReturn(true);
+        when(delegate.existsByParentIdAndId(1L, 3L)).thenReturn(false);
+
+        // when
+        assertThat(resolver.existsByParentIdAndId(1L, 2L)).isTrue();
+        assertThat(resolver.existsByParentIdAndId(1L, 2L)).isTrue();
+        assertThat(resolver.existsByParentIdAndId(1L, 3L)).isFalse();
+        assertThat(resolver.existsByParentIdAndId(1L, 3L)).isFalse();
+
+        // assert
+        verify(delegate, times(1)).existsByParentIdAndId(1L, 2L);
+        verify(delegate, times(2)).existsByParentIdAndId(1L, 3L);
+        assertThat(resolver.getStatistics().hitCount()).isEqualTo(1);
+        assertThat(resolver.getStatistics().missCount()).isEqualTo(3);
+    }
+
+    @Test
+    void should_forget_changed_relationship() {
+        // given
+        CachingParentChildResolver<Product, ProductDetail, Long> resolver =
+                new CachingParentChildResolver<>(delegate, 10, Duration.ofMinutes(1));
+        when(delegate.existsByParentIdAndId(1L, 2L)).thenReturn(true, false);
+        assertThat(resolver.existsByParentIdAndId(1L, 2L)).isTrue();
+
+        // when
+        resolver.relationshipChanged(1L, 2L);
+
+        // assert
+        assertThat(resolver.existsByParentIdAndId(1L, 2L)).isFalse();
+        verify(delegate).relationshipChanged(1L, 2L);
+    }
+
+    @Test
+    void should_not_cache_relationship_changed_while_read() {
+        // given
+        CachingParentChildResolver<Product, ProductDetail, Long> resolver =
+                new CachingParentChildResolver<>(delegate, 10, Duration.ofMinutes(1));
+        when(delegate.existsByParentIdAndId(1L, 2L))
+                .thenAnswer(invocation -> {
+                    resolver.relationshipChanged(1L, 2L);
+                    return true;
+                })
+                .thenReturn(false);
+
+        // when
+        assertThat(resolver.existsByParentIdAndId(1L, 2L)).isTrue();
+
+        // assert
+        assertThat(resolver.existsByParentIdAndId(1L, 2L)).isFalse();
+        verify(delegate, times(2)).existsByParentIdAndId(1L, 2L);
+    }
+
+    @Test
+    void should_not_cache_parent_checks() {
+        // given
+        CachingParentChildResolver<Product, ProductDetail, Long> resolver =
+                new CachingParentChildResolver<>(delegate, 10, Duration.ofMinutes(1));
+        when(delegate.existsByParentId(1L)).thenReturn(true, false);
+
+        // when
+        assertThat(resolver.existsByParentId(1L)).isTrue();
+
+        // assert
+        assertThat(resolver.existsByParentId(1L)).isFalse();
+    }
+}
@@ -23,5 +23,18 @@ class GenericUpdateValuesSetterTest {
         assertThat(old.getDescription()).isEqualTo(nieuwe.getDescription());
     }
 
+    @Test
+    void keep_stored_values_when_skipping_nulls() {
+        GenericUpdateValuesSetter<Product> skipNulls = new GenericUpdateValuesSetter<>(true, false);
+
+        Product nieuwe = Instancio.create(Product.class);
+        nieuwe.setDescription(null);
 
+        Product old = Instancio.create(Product.class);
+        String oldDescription = old.getDescription();
+
+        skipNulls.update(old, nieuwe);
+        assertThat(old.getName()).isEqualTo(nieuwe.getName());
+        assertThat(old.getDescription()).isEqualTo(oldDescription);
+    }
 }
@@ -0,0 +1,46 @@
+package com.lassis.springframework.crud.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdChainTest {
+
+    @Test
+    void should_move_cursor_without_changing_chain() {
+        IdChain<Long> chain = IdChain.of(1L, 2L, 3L);
+
+        IdChain<Long> tail = chain.tail();
+
+        assertThat(chain.size()).isEqualTo(3);
+        assertThat(chain.head()).isEqualTo(1L);
+        assertThat(tail.size()).isEqualTo(2);
+        assertThat(tail.head()).isEqualTo(2L);
+        assertThat(tail.last()).isEqualTo(3L);
+        assertThat(tail.get(1)).isEqualTo(3L);
+        assertThat(tail.tail().tail().isEmpty()).isTrue();
+        assertThat(tail.toQueue()).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void should_fail_on_empty_chain() {
+        IdChain<Long> chain = IdChain.empty();
+
+        assertThat(chain.isEmpty()).isTrue();
+        assertThatThrownBy(chain::head).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(chain::tail).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> chain.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void should_compare_remaining_ids() {
+        assertThat(IdChain.wrap(new Long[]{1L, 2L})).isEqualTo(IdChain.of(1L, 2L));
+        assertThat(IdChain.wrap(new Long[]{1L, 2L})).hasSameHashCodeAs(IdChain.of(1L, 2L));
+        assertThat(IdChain.of(0L, 1L, 2L).tail()).isEqualTo(IdChain.of(1L, 2L));
+        assertThat(IdChain.of(1L).tail()).isEqualTo(IdChain.empty());
+        assertThat(IdChain.of(1L, 2L)).isNotEqualTo(IdChain.of(2L, 1L));
+    }
+}
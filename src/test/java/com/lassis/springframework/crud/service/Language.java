@@ -10,6 +10,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 @Getter
 @Setter
@@ -23,4 +24,7 @@ public class Language implements WithId<Long> {
 
     @ManyToOne(optional = false)
     private ProductDetail productDetail;
+
+    @Version
+    private Long version;
 }
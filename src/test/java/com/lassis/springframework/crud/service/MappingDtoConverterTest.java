@@ -0,0 +1,53 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.dto.UserDto;
+import lombok.Getter;
+import lombok.Setter;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappingDtoConverterTest {
+
+    @Test
+    void map_dto_to_entity_by_property_name() {
+        MappingDtoConverter<UserDto, UserDto, User> converter = MappingDtoConverter.of(UserDto.class, UserDto.class, User.class);
+        UserDto dto = Instancio.create(UserDto.class);
+
+        User user = converter.fromDto(dto);
+
+        assertThat(user.getId()).isNull();
+        assertThat(user.getName()).isEqualTo(dto.getName());
+    }
+
+    @Test
+    void map_entity_to_another_dto_type() {
+        MappingDtoConverter<UserDto, UserView, User> converter = MappingDtoConverter.of(UserDto.class, UserView.class, User.class);
+        User user = Instancio.create(User.class);
+
+        UserView view = converter.toDto(user);
+
+        assertThat(view.getId()).isEqualTo(user.getId());
+        assertThat(view.getName()).isEqualTo(user.getName());
+        assertThat(view.getRank()).isZero();
+    }
+
+    @Test
+    void map_null_to_null() {
+        MappingDtoConverter<UserDto, UserDto, User> converter = MappingDtoConverter.of(UserDto.class, UserDto.class, User.class);
+
+        assertThat(converter.fromDto(null)).isNull();
+        assertThat(converter.toDto(null)).isNull();
+    }
+
+    @Getter
+    @Setter
+    public static class UserView implements Serializable {
+        private Long id;
+        private String name;
+        private int rank;
+    }
+}
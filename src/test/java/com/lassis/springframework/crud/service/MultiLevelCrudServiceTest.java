@@ -10,16 +10,23 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 
-import java.util.LinkedList;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.lassis.springframework.crud.CrudEndpointsTest.newProduct;
 import static com.lassis.springframework.crud.CrudEndpointsTest.newProductDetail;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +39,9 @@ class MultiLevelCrudServiceTest {
     @Mock
     ParentChildResolver<Product, ProductDetail, Long> parentChildResolver;
 
+    @Mock
+    AncestryResolver<ProductDetail, Long> ancestryResolver;
+
     MultiLevelCrudService<Product, ProductDetail, Long> service;
 
     @BeforeEach
@@ -53,16 +63,18 @@ class MultiLevelCrudServiceTest {
         productDetail.setId(Instancio.create(Long.class));
         productDetail.setProduct(product);
 
-        LinkedList<Long> chain = new LinkedList<>();
-        chain.add(productId);
+        IdChain<Long> chain = IdChain.of(productId);
+        when(rootService.create(IdChain.empty(), productDetail))
+                .thenReturn(productDetail);
 
         // when
         service.create(chain, productDetail);
 
         // assert
-        assertThat(chain).isEmpty();
-        verify(rootService).create(any(), eq(productDetail));
+        assertThat(chain).isEqualTo(IdChain.of(productId));
+        verify(rootService).create(eq(IdChain.empty()), eq(productDetail));
         verify(parentChildResolver).setParent(product, productDetail);
+        verify(parentChildResolver).relationshipChanged(productId, productDetail.getId());
     }
 
     @Test
@@ -78,15 +90,13 @@ class MultiLevelCrudServiceTest {
         when(parentChildResolver.existsByParentIdAndId(product.getId(), productDetail.getId()))
                 .thenReturn(true);
 
-        LinkedList<Long> chain = new LinkedList<>();
-        chain.add(product.getId());
+        IdChain<Long> chain = IdChain.of(product.getId());
 
         // when
         service.update(chain, productDetail.getId(), productDetail);
 
         // assert
-        assertThat(chain).isEmpty();
-        verify(rootService).update(any(), eq(productDetail.getId()), eq(productDetail));
+        verify(rootService).update(eq(IdChain.empty()), eq(productDetail.getId()), eq(productDetail));
     }
 
     @Test
@@ -101,15 +111,13 @@ class MultiLevelCrudServiceTest {
         when(parentChildResolver.existsByParentIdAndId(product.getId(), productDetail.getId()))
                 .thenReturn(true);
 
-        LinkedList<Long> chain = new LinkedList<>();
-        chain.add(product.getId());
+        IdChain<Long> chain = IdChain.of(product.getId());
 
         // then
         service.get(chain, productDetail.getId());
 
         // assert
-        assertThat(chain).isEmpty();
-        verify(rootService).get(any(), eq(productDetail.getId()));
+        verify(rootService).get(eq(IdChain.empty()), eq(productDetail.getId()));
     }
 
     @Test
@@ -121,14 +129,12 @@ class MultiLevelCrudServiceTest {
         when(parentChildResolver.existsByParentId(product.getId()))
                 .thenReturn(true);
 
-        LinkedList<Long> chain = new LinkedList<>();
-        chain.add(product.getId());
+        IdChain<Long> chain = IdChain.of(product.getId());
 
         // then
         service.all(chain, UNPAGED);
 
         // when
-        assertThat(chain).isEmpty();
         verify(parentChildResolver).findAllByParentId(product.getId(), UNPAGED);
     }
 
@@ -144,9 +150,7 @@ class MultiLevelCrudServiceTest {
         when(parentChildResolver.existsByParentIdAndId(product.getId(), detail.getId()))
                 .thenReturn(true);
 
-        LinkedList<Long> chain = new LinkedList<>();
-        chain.add(product.getId());
-        chain.add(detail.getId());
+        IdChain<Long> chain = IdChain.of(product.getId(), detail.getId());
 
         Pageable unpaged = UNPAGED;
 
@@ -154,8 +158,8 @@ class MultiLevelCrudServiceTest {
         service.all(chain, unpaged);
 
         // when
-        assertThat(chain).hasSize(1);
-        verify(rootService).all(any(), eq(unpaged));
+        assertThat(chain).hasToString("[" + product.getId() + ", " + detail.getId() + "]");
+        verify(rootService).all(eq(IdChain.of(detail.getId())), eq(unpaged));
     }
 
     @Test
@@ -170,15 +174,181 @@ class MultiLevelCrudServiceTest {
         when(parentChildResolver.existsByParentIdAndId(product.getId(), productDetail.getId()))
                 .thenReturn(true);
 
-        LinkedList<Long> chain = new LinkedList<>();
-        chain.add(product.getId());
+        IdChain<Long> chain = IdChain.of(product.getId());
 
         // when
         service.deleteById(chain, productDetail.getId());
 
         // assert
-        assertThat(chain).isEmpty();
-        verify(rootService).deleteById(any(), eq(productDetail.getId()));
+        verify(rootService).deleteById(eq(IdChain.empty()), eq(productDetail.getId()));
+        verify(parentChildResolver).relationshipChanged(product.getId(), productDetail.getId());
+    }
+
+    @Test
+    void should_create_all_loading_parent_once() {
+        // given
+        Product product = newProduct();
+        product.setId(Instancio.create(Long.class));
+
+        ProductDetail first = newProductDetail(null);
+        ProductDetail second = newProductDetail(null);
+        List<ProductDetail> details = Arrays.asList(first, second);
+
+        when(parentChildResolver.findParentById(product.getId()))
+                .thenReturn(Optional.of(product));
+        when(rootService.createAll(IdChain.empty(), details))
+                .thenReturn(details);
+
+        // when
+        service.createAll(IdChain.of(product.getId()), details);
+
+        // assert
+        verify(parentChildResolver, times(1)).findParentById(product.getId());
+        verify(parentChildResolver).setParent(product, first);
+        verify(parentChildResolver).setParent(product, second);
+        verify(rootService).createAll(IdChain.empty(), details);
+    }
+
+    @Test
+    void should_update_only_children_of_parent() {
+        // given
+        long productId = Instancio.create(Long.class);
+        ProductDetail child = newProductDetail(null);
+        child.setId(1L);
+        ProductDetail stranger = newProductDetail(null);
+        stranger.setId(2L);
+
+        Map<Long, ProductDetail> details = new LinkedHashMap<>();
+        details.put(child.getId(), child);
+        details.put(stranger.getId(), stranger);
+
+        when(parentChildResolver.findChildIds(productId, details.keySet()))
+                .thenReturn(Collections.singleton(child.getId()));
+        when(rootService.updateAll(IdChain.empty(), Collections.singletonMap(child.getId(), child)))
+                .thenReturn(Collections.singletonMap(child.getId(), child));
+
+        // when
+        Map<Long, ProductDetail> updated = service.updateAll(IdChain.of(productId), details);
+
+        // assert
+        assertThat(updated).containsOnlyKeys(child.getId());
+    }
+
+    @Test
+    void should_check_relationship_before_reading_version() {
+        // given
+        long productId = Instancio.create(Long.class);
+        IdChain<Long> chain = IdChain.of(productId);
+
+        when(parentChildResolver.existsByParentIdAndId(productId, 1L))
+                .thenReturn(false);
+
+        // when
+        assertThatThrownBy(() -> service.getVersion(chain, 1L)).isInstanceOf(RelationshipNotFoundException.class);
+
+        // assert
+        verifyNoInteractions(rootService);
+    }
+
+    @Test
+    void should_get_only_children_of_parent() {
+        // given
+        long productId = Instancio.create(Long.class);
+        ProductDetail child = newProductDetail(null);
+        child.setId(1L);
+        List<Long> ids = Arrays.asList(1L, 2L);
+
+        when(parentChildResolver.findChildIds(productId, ids))
+                .thenReturn(Collections.singleton(1L));
+        when(rootService.getAll(IdChain.empty(), Collections.singleton(1L)))
+                .thenReturn(Collections.singletonMap(1L, child));
+
+        // when
+        Map<Long, ProductDetail> found = service.getAll(IdChain.of(productId), ids);
+
+        // assert
+        assertThat(found).containsOnlyKeys(1L);
+    }
+
+    @Test
+    void should_get_many_through_ancestry_resolver() {
+        // given
+        IdChain<Long> chain = IdChain.of(Instancio.create(Long.class), Instancio.create(Long.class));
+        List<Long> ids = Arrays.asList(1L, 2L);
+
+        when(ancestryResolver.findIdsByAncestry(chain, ids))
+                .thenReturn(Collections.emptySet());
+
+        MultiLevelCrudService<Product, ProductDetail, Long> ancestryService =
+                new MultiLevelCrudService<>(rootService, parentChildResolver, ancestryResolver);
+
+        // when
+        Map<Long, ProductDetail> found = ancestryService.getAll(chain, ids);
+
+        // assert
+        assertThat(found).isEmpty();
+        verifyNoInteractions(rootService);
+    }
+
+    @Test
+    void should_delete_only_children_of_parent() {
+        // given
+        long productId = Instancio.create(Long.class);
+        List<Long> ids = Arrays.asList(1L, 2L);
+
+        when(parentChildResolver.findChildIds(productId, ids))
+                .thenReturn(Collections.singleton(1L));
+        when(rootService.deleteAllById(IdChain.empty(), Collections.singleton(1L)))
+                .thenReturn(1L);
+
+        // when
+        long deleted = service.deleteAllById(IdChain.of(productId), ids);
+
+        // assert
+        assertThat(deleted).isEqualTo(1L);
+        verify(parentChildResolver).relationshipChanged(productId, 1L);
+    }
+
+    @Test
+    void should_delete_all_children_of_parent() {
+        // given
+        long productId = Instancio.create(Long.class);
+
+        when(parentChildResolver.existsByParentId(productId))
+                .thenReturn(true);
+        when(parentChildResolver.deleteAllByParentId(productId))
+                .thenReturn(3L);
+
+        // when
+        long deleted = service.deleteAll(IdChain.of(productId));
+
+        // assert
+        assertThat(deleted).isEqualTo(3L);
+        verify(rootService).entitiesChanged();
+        verifyNoMoreInteractions(rootService);
+    }
+
+    @Test
+    void should_forget_cached_children_of_deleted_parent() {
+        // given
+        long productId = Instancio.create(Long.class);
+        ProductDetail productDetail = newProductDetail(null);
+        productDetail.setId(Instancio.create(Long.class));
+
+        CachingCrudService<ProductDetail, Long> caching = new CachingCrudService<>(rootService, ProductDetail.class, 10, Duration.ofMinutes(1));
+        service = new MultiLevelCrudService<>(caching, parentChildResolver);
+        when(rootService.get(IdChain.empty(), productDetail.getId()))
+                .thenReturn(productDetail);
+        when(parentChildResolver.existsByParentId(productId))
+                .thenReturn(true);
+        caching.get(IdChain.empty(), productDetail.getId());
+
+        // when
+        service.deleteAll(IdChain.of(productId));
+        caching.get(IdChain.empty(), productDetail.getId());
+
+        // assert
+        verify(rootService, times(2)).get(IdChain.empty(), productDetail.getId());
     }
 
     @Test
@@ -190,7 +360,7 @@ class MultiLevelCrudServiceTest {
         ProductDetail productDetail = newProductDetail(null);
         productDetail.setId(Instancio.create(Long.class));
 
-        LinkedList<Long> chain = new LinkedList<>();
+        IdChain<Long> chain = IdChain.of(product.getId());
 
         when(parentChildResolver.findParentById(product.getId()))
                 .thenReturn(Optional.empty());
@@ -200,25 +370,78 @@ class MultiLevelCrudServiceTest {
                 .thenReturn(false);
 
         //
-        chain.add(product.getId());
         assertThatThrownBy(() -> service.create(chain, productDetail)).isInstanceOf(NotFoundException.class);
-        assertThat(chain).isEmpty();
 
         //
         Long productDetailId = productDetail.getId();
-        chain.add(product.getId());
         assertThatThrownBy(() -> service.update(chain, productDetailId, productDetail)).isInstanceOf(RelationshipNotFoundException.class);
 
         //
-        chain.add(product.getId());
         assertThatThrownBy(() -> service.get(chain, productDetailId)).isInstanceOf(RelationshipNotFoundException.class);
 
         //
-        chain.add(product.getId());
         assertThatThrownBy(() -> service.all(chain, UNPAGED)).isInstanceOf(NotFoundException.class);
         //
-        chain.add(product.getId());
         assertThatThrownBy(() -> service.deleteById(chain, productDetailId)).isInstanceOf(RelationshipNotFoundException.class);
 
     }
+
+    @Test
+    void should_get_through_ancestry_resolver() {
+        // given
+        ProductDetail productDetail = newProductDetail(null);
+        productDetail.setId(Instancio.create(Long.class));
+
+        IdChain<Long> chain = IdChain.of(Instancio.create(Long.class), Instancio.create(Long.class));
+        when(ancestryResolver.findByAncestry(chain, productDetail.getId()))
+                .thenReturn(Optional.of(productDetail));
+
+        MultiLevelCrudService<Product, ProductDetail, Long> ancestryService =
+                new MultiLevelCrudService<>(rootService, parentChildResolver, ancestryResolver);
+
+        // when
+        ProductDetail found = ancestryService.get(chain, productDetail.getId());
+
+        // assert
+        assertThat(found).isSameAs(productDetail);
+        verifyNoInteractions(rootService, parentChildResolver);
+    }
+
+    @Test
+    void should_not_delete_when_ancestry_not_found() {
+        // given
+        Long productDetailId = Instancio.create(Long.class);
+        IdChain<Long> chain = IdChain.of(Instancio.create(Long.class), Instancio.create(Long.class));
+
+        when(ancestryResolver.existsByAncestry(chain, productDetailId))
+                .thenReturn(false);
+
+        MultiLevelCrudService<Product, ProductDetail, Long> ancestryService =
+                new MultiLevelCrudService<>(rootService, parentChildResolver, ancestryResolver);
+
+        // when
+        assertThatThrownBy(() -> ancestryService.deleteById(chain, productDetailId)).isInstanceOf(RelationshipNotFoundException.class);
+
+        // assert
+        verifyNoInteractions(rootService, parentChildResolver);
+    }
+
+    @Test
+    void should_delete_through_ancestry_resolver() {
+        // given
+        Long productDetailId = Instancio.create(Long.class);
+        IdChain<Long> chain = IdChain.of(Instancio.create(Long.class), Instancio.create(Long.class));
+
+        when(ancestryResolver.existsByAncestry(chain, productDetailId))
+                .thenReturn(true);
+
+        MultiLevelCrudService<Product, ProductDetail, Long> ancestryService =
+                new MultiLevelCrudService<>(rootService, parentChildResolver, ancestryResolver);
+
+        // when
+        ancestryService.deleteById(chain, productDetailId);
+
+        // assert
+        verify(rootService).deleteById(IdChain.empty(), productDetailId);
+    }
 }
@@ -0,0 +1,165 @@
+package com.lassis.springframework.crud.service;
+
+import com.lassis.springframework.crud.exception.NotFoundException;
+import com.lassis.springframework.crud.exception.RelationshipNotFoundException;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MultiLevelReactiveCrudServiceTest {
+
+    @Mock
+    ReactiveCrudService<ProductDetail, Long> rootService;
+
+    @Mock
+    ReactiveParentChildResolver<Product, ProductDetail, Long> parentChildResolver;
+
+    MultiLevelReactiveCrudService<Product, ProductDetail, Long> service;
+
+    @BeforeEach
+    void setup() {
+        service = new MultiLevelReactiveCrudService<>(rootService, parentChildResolver);
+    }
+
+    @Test
+    void should_create() {
+        // given
+        long productId = Instancio.create(Long.class);
+        Product product = new Product();
+        product.setId(productId);
+
+        ProductDetail productDetail = new ProductDetail();
+        productDetail.setId(Instancio.create(Long.class));
+
+        when(parentChildResolver.findParentById(productId))
+                .thenReturn(Mono.just(product));
+        when(rootService.create(IdChain.empty(), productDetail))
+                .thenReturn(Mono.just(productDetail));
+
+        // when
+        ProductDetail created = service.create(IdChain.of(productId), productDetail).block();
+
+        // assert
+        assertThat(created).isSameAs(productDetail);
+        verify(parentChildResolver).setParent(product, productDetail);
+    }
+
+    @Test
+    void should_not_create_when_parent_does_not_exist() {
+        // given
+        long productId = Instancio.create(Long.class);
+        ProductDetail productDetail = new ProductDetail();
+
+        when(parentChildResolver.findParentById(productId))
+                .thenReturn(Mono.empty());
+
+        // when
+        Mono<ProductDetail> created = service.create(IdChain.of(productId), productDetail);
+
+        // assert
+        assertThatThrownBy(created::block)
+                .isInstanceOf(NotFoundException.class);
+        verifyNoInteractions(rootService);
+    }
+
+    @Test
+    void should_get() {
+        // given
+        long productId = Instancio.create(Long.class);
+        long productDetailId = Instancio.create(Long.class);
+        ProductDetail productDetail = new ProductDetail();
+        productDetail.setId(productDetailId);
+
+        when(parentChildResolver.existsByParentIdAndId(productId, productDetailId))
+                .thenReturn(Mono.just(true));
+        when(rootService.get(IdChain.empty(), productDetailId))
+                .thenReturn(Mono.just(productDetail));
+
+        // when
+        ProductDetail found = service.get(IdChain.of(productId), productDetailId).block();
+
+        // assert
+        assertThat(found).isSameAs(productDetail);
+    }
+
+    @Test
+    void should_not_get_when_relationship_does_not_exist() {
+        // given
+        long productId = Instancio.create(Long.class);
+        long productDetailId = Instancio.create(Long.class);
+
+        when(parentChildResolver.existsByParentIdAndId(productId, productDetailId))
+                .thenReturn(Mono.just(false));
+
+        // when
+        Mono<ProductDetail> found = service.get(IdChain.of(productId), productDetailId);
+
+        // assert
+        assertThatThrownBy(found::block)
+                .isInstanceOf(RelationshipNotFoundException.class);
+        verifyNoInteractions(rootService);
+    }
+
+    @Test
+    void should_read_only_the_requested_page() {
+        // given
+        long productId = Instancio.create(Long.class);
+        PageRequest pageable = PageRequest.of(1, 2);
+
+        Flux<ProductDetail> details = Flux.fromIterable(LongStream.rangeClosed(1, 10)
+                .mapToObj(id -> {
+                    ProductDetail productDetail = new ProductDetail();
+                    productDetail.setId(id);
+                    return productDetail;
+                })
+                .collect(Collectors.toList()));
+
+        when(parentChildResolver.existsByParentId(productId))
+                .thenReturn(Mono.just(true));
+        when(parentChildResolver.findAllByParentId(productId, pageable.getSort()))
+                .thenReturn(details);
+
+        // when
+        Slice<ProductDetail> slice = service.all(IdChain.of(productId), pageable).block();
+
+        // assert
+        assertThat(slice).isNotNull();
+        assertThat(slice.getContent()).extracting(ProductDetail::getId).containsExactly(3L, 4L);
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    void should_delete() {
+        // given
+        long productId = Instancio.create(Long.class);
+        long productDetailId = Instancio.create(Long.class);
+
+        when(parentChildResolver.existsByParentIdAndId(productId, productDetailId))
+                .thenReturn(Mono.just(true));
+        when(rootService.deleteById(IdChain.empty(), productDetailId))
+                .thenReturn(Mono.empty());
+
+        // when
+        service.deleteById(IdChain.of(productId), productDetailId).block();
+
+        // assert
+        verify(rootService).deleteById(IdChain.empty(), productDetailId);
+    }
+}
@@ -4,6 +4,7 @@ import com.lassis.springframework.crud.entity.WithId;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -14,6 +15,7 @@ import javax.persistence.Table;
 @Setter
 @ToString
 @Entity
+@DynamicUpdate
 @Table(name = "product")
 public class Product implements WithId<Long> {
     @Id
@@ -0,0 +1,65 @@
+package com.lassis.springframework.crud.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.instancio.Instancio;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PropertyCopierTest {
+
+    @Test
+    void copy_all_but_ignored_properties() {
+        PropertyCopier<Product> copier = PropertyCopier.of(Product.class, false, false, "id");
+
+        Product source = Instancio.create(Product.class);
+        Product target = Instancio.create(Product.class);
+        Long targetId = target.getId();
+
+        boolean changed = copier.copy(source, target);
+
+        assertThat(changed).isTrue();
+        assertThat(target.getId()).isEqualTo(targetId);
+        assertThat(target.getName()).isEqualTo(source.getName());
+        assertThat(target.getDescription()).isEqualTo(source.getDescription());
+    }
+
+    @Test
+    void copy_nothing_when_only_changed_and_values_are_equal() {
+        PropertyCopier<Product> copier = PropertyCopier.of(Product.class, false, true, "id");
+
+        Product source = Instancio.create(Product.class);
+        Product target = new Product();
+        target.setName(source.getName());
+        target.setDescription(source.getDescription());
+
+        assertThat(copier.copy(source, target)).isFalse();
+
+        source.setName(source.getName() + "-changed");
+        assertThat(copier.copy(source, target)).isTrue();
+        assertThat(target.getName()).isEqualTo(source.getName());
+    }
+
+    @Test
+    void copy_primitives_of_not_public_class() {
+        PropertyCopier<Counter> copier = PropertyCopier.of(Counter.class, true, false);
+
+        Counter source = new Counter();
+        source.setCount(42);
+        source.setTotal(7L);
+        Counter target = new Counter();
+
+        copier.copy(source, target);
+
+        assertThat(target.getCount()).isEqualTo(42);
+        assertThat(target.getTotal()).isEqualTo(7L);
+    }
+
+    @Getter
+    @Setter
+    static class Counter {
+        private int count;
+        private long total;
+    }
+}
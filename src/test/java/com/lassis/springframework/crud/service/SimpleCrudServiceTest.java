@@ -1,6 +1,7 @@
 package com.lassis.springframework.crud.service;
 
 import com.lassis.springframework.crud.exception.NotFoundException;
+import com.lassis.springframework.crud.exception.UnsupportedCrudOperationException;
 import org.instancio.Instancio;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,19 +12,31 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.mockito.stubbing.Answer;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowableOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -53,7 +66,7 @@ class SimpleCrudServiceTest {
 
         when(repository.findById(id)).thenReturn(Optional.of(p));
 
-        p = service.get(new LinkedList<>(), id);
+        p = service.get(IdChain.empty(), id);
         assertThat(p).isNotNull();
     }
 
@@ -62,7 +75,7 @@ class SimpleCrudServiceTest {
         long id = Instancio.create(Long.class);
 
         when(repository.findById(id)).thenReturn(Optional.empty());
-        final LinkedList<Long> chain = new LinkedList<>();
+        final IdChain<Long> chain = IdChain.empty();
         NotFoundException ex = catchThrowableOfType(() -> service.get(chain, id), NotFoundException.class);
         assertThat(ex.getMessage()).contains(id + " not found");
     }
@@ -87,12 +100,85 @@ class SimpleCrudServiceTest {
         });
         when(repository.findById(any())).thenReturn(Optional.of(p));
 
-        service.create(new LinkedList<>(), p);
+        service.create(IdChain.empty(), p);
 
         verify(beforeSave).execute(any());
         verify(repository).save(any());
     }
 
+    @Test
+    void shouldCreateProductWithoutRefresh() {
+        Product p = Instancio.create(Product.class);
+        p.setId(null);
+
+        when(repository.save(p)).thenReturn(p);
+
+        Product created = new SimpleCrudService<>(repository, beforeSave, updateSetter, false)
+                .create(IdChain.empty(), p);
+
+        assertThat(created).isSameAs(p);
+        verify(repository).save(p);
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    void shouldUpdateProductWithoutRefresh() {
+        Product p = Instancio.create(Product.class);
+        Long id = p.getId();
+
+        when(repository.findById(id)).thenReturn(Optional.of(p));
+        when(repository.save(p)).thenReturn(p);
+        service.update(IdChain.empty(), id, p, false);
+
+        verify(repository).save(p);
+        verify(repository, times(1)).findById(id);
+    }
+
+    @Test
+    void shouldCreateAllProductsWithOneSaveAndOneRead() {
+        Product p1 = Instancio.create(Product.class);
+        Product p2 = Instancio.create(Product.class);
+        p1.setId(null);
+        p2.setId(null);
+        List<Product> products = Arrays.asList(p1, p2);
+
+        when(repository.saveAll(products)).then((Answer<Iterable<Product>>) invocation -> {
+            p1.setId(1L);
+            p2.setId(2L);
+            return products;
+        });
+        when(repository.findAllById(Arrays.asList(1L, 2L))).thenReturn(Arrays.asList(p2, p1));
+
+        List<Product> created = service.createAll(IdChain.empty(), products);
+
+        assertThat(created).containsExactly(p1, p2);
+        verify(beforeSave, times(2)).execute(any());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void shouldUpdateAllProductsWithOneReadAndOneSave() {
+        Product p1 = Instancio.create(Product.class);
+        Product p2 = Instancio.create(Product.class);
+        Map<Long, Product> products = new LinkedHashMap<>();
+        products.put(p1.getId(), p1);
+        products.put(p2.getId(), p2);
+        products.put(-1L, Instancio.create(Product.class));
+        products.get(-1L).setId(null);
+
+        List<Product> found = Arrays.asList(p1, p2);
+        when(repository.findAllById(products.keySet())).thenReturn(found);
+        when(repository.saveAll(found)).thenReturn(found);
+
+        Map<Long, Product> updated = new SimpleCrudService<>(repository, beforeSave, updateSetter, false)
+                .updateAll(IdChain.empty(), products);
+
+        assertThat(updated).containsOnlyKeys(p1.getId(), p2.getId());
+        verify(updateSetter).update(p1, p1);
+        verify(updateSetter).update(p2, p2);
+        verify(repository, never()).findById(any());
+    }
+
     @Test
     void shouldUpdateProduct() {
         Product p = Instancio.create(Product.class);
@@ -100,13 +186,30 @@ class SimpleCrudServiceTest {
 
         when(repository.findById(id)).thenReturn(Optional.of(p));
         when(repository.save(p)).thenReturn(p);
-        service.update(new LinkedList<>(), id, p);
+        service.update(IdChain.empty(), id, p);
 
         verify(updateSetter).update(p, p);
         verify(beforeSave).execute(p);
         verify(repository).save(p);
     }
 
+    @Test
+    void shouldPatchOnlyGivenProperties() {
+        Product stored = Instancio.create(Product.class);
+        Long id = stored.getId();
+        Product values = new Product();
+        values.setName(Instancio.create(String.class));
+        Set<String> properties = Collections.singleton("name");
+
+        when(repository.findById(id)).thenReturn(Optional.of(stored));
+        when(repository.save(stored)).thenReturn(stored);
+        service.patch(IdChain.empty(), id, values, properties);
+
+        verify(updateSetter).update(stored, values, properties);
+        verify(updateSetter, never()).update(any(), any());
+        verify(repository).save(stored);
+    }
+
     @Test
     void shouldNotUpdateProductNotFound() {
         long id = Instancio.create(Long.class);
@@ -116,7 +219,7 @@ class SimpleCrudServiceTest {
         Product p = new Product();
         p.setId(id);
 
-        LinkedList<Long> chain = new LinkedList<>();
+        IdChain<Long> chain = IdChain.empty();
         NotFoundException ex = catchThrowableOfType(() -> service.update(chain, id, p), NotFoundException.class);
 
         assertThat(ex.getMessage()).contains(id + " not found");
@@ -129,7 +232,7 @@ class SimpleCrudServiceTest {
 
         when(repository.existsById(id)).thenReturn(true);
 
-        service.deleteById(new LinkedList<>(), id);
+        service.deleteById(IdChain.empty(), id);
 
         verify(repository).deleteById(id);
     }
@@ -139,15 +242,132 @@ class SimpleCrudServiceTest {
         long id = Instancio.create(Long.class);
         when(repository.existsById(id)).thenReturn(false);
 
-        LinkedList<Long> chain = new LinkedList<>();
+        IdChain<Long> chain = IdChain.empty();
         NotFoundException ex = catchThrowableOfType(() -> service.deleteById(chain, id), NotFoundException.class);
 
         assertThat(ex.getMessage()).contains(id + " not found");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldGetVersionWithoutLoadingEntity() {
+        PagingAndSortingRepository<Product, Long> versionRepository =
+                mock(PagingAndSortingRepository.class, withSettings().extraInterfaces(VersionRepository.class));
+        when(((VersionRepository<Long, Long>) versionRepository).findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        CrudService<Product, Long> versionService = new SimpleCrudService<>(versionRepository, beforeSave, updateSetter);
+
+        assertThat(versionService.getVersion(IdChain.empty(), 1L)).contains(3L);
+        assertThat(service.getVersion(IdChain.empty(), 1L)).isEmpty();
+        verify(versionRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldGetAllByIdWithOneRead() {
+        Product p1 = Instancio.create(Product.class);
+        Product p2 = Instancio.create(Product.class);
+        List<Long> ids = Arrays.asList(p1.getId(), -1L, p2.getId());
+        when(repository.findAllById(ids)).thenReturn(Arrays.asList(p1, p2));
+
+        Map<Long, Product> found = service.getAll(IdChain.empty(), ids);
+
+        assertThat(found).containsOnlyKeys(p1.getId(), p2.getId());
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDeleteAllByIdWithOneStatement() {
+        PagingAndSortingRepository<Product, Long> batchRepository =
+                mock(PagingAndSortingRepository.class, withSettings().extraInterfaces(BatchDeleteRepository.class));
+        List<Long> ids = Arrays.asList(1L, 2L);
+        when(((BatchDeleteRepository<Long>) batchRepository).deleteByIdIn(ids)).thenReturn(2);
+
+        CrudService<Product, Long> batchService = new SimpleCrudService<>(batchRepository, beforeSave, updateSetter);
+
+        assertThat(batchService.deleteAllById(IdChain.empty(), ids)).isEqualTo(2L);
+        verify(batchRepository, never()).findAllById(any());
+        verify(batchRepository, never()).deleteById(any());
+    }
+
+    @Test
+    void shouldDeleteAllByIdFoundWithOneRead() {
+        Product p = Instancio.create(Product.class);
+        List<Long> ids = Arrays.asList(p.getId(), -1L);
+        List<Product> found = Collections.singletonList(p);
+        when(repository.findAllById(ids)).thenReturn(found);
+
+        assertThat(service.deleteAllById(IdChain.empty(), ids)).isEqualTo(1L);
+        verify(repository).deleteAll(found);
+        verify(repository, never()).existsById(any());
+    }
+
     @Test
     void shouldGetAllProducts() {
-        service.all(new LinkedList<>(), Pageable.unpaged());
+        service.all(IdChain.empty(), Pageable.unpaged());
         verify(repository).findAll(any(Pageable.class));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFindAllAfterLastId() {
+        PagingAndSortingRepository<Product, Long> keysetRepository =
+                mock(PagingAndSortingRepository.class, withSettings().extraInterfaces(KeysetRepository.class));
+        KeysetPageRequest pageable = KeysetPageRequest.after(10L, 3);
+        Slice<Product> slice = new SliceImpl<>(Collections.emptyList(), pageable, false);
+        when(((KeysetRepository<Product, Long>) keysetRepository).findByIdGreaterThan(10L, pageable)).thenReturn(slice);
+
+        CrudService<Product, Long> keysetService = new SimpleCrudService<>(keysetRepository, beforeSave, updateSetter);
+
+        assertThat(keysetService.all(IdChain.empty(), pageable)).isSameAs(slice);
+        verify(keysetRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void shouldNotFindAllAfterLastIdWithoutKeysetRepository() {
+        final KeysetPageRequest pageable = KeysetPageRequest.first(3);
+        final IdChain<Long> chain = IdChain.empty();
+
+        UnsupportedCrudOperationException ex = catchThrowableOfType(() -> service.all(chain, pageable), UnsupportedCrudOperationException.class);
+        assertThat(ex).isNotNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldFindSliceWithoutCounting() {
+        PagingAndSortingRepository<Product, Long> sliceRepository =
+                mock(PagingAndSortingRepository.class, withSettings().extraInterfaces(SliceRepository.class));
+        SlicePageRequest pageable = SlicePageRequest.of(1, 3, Sort.by("id"));
+        Slice<Product> slice = new SliceImpl<>(Collections.emptyList(), pageable, false);
+        when(((SliceRepository<Product>) sliceRepository).findAllBy(pageable)).thenReturn(slice);
+
+        CrudService<Product, Long> sliceService = new SimpleCrudService<>(sliceRepository, beforeSave, updateSetter);
+
+        assertThat(sliceService.all(IdChain.empty(), pageable)).isSameAs(slice);
+        verify(sliceRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReadOnlyTheSelectedProperties() {
+        PagingAndSortingRepository<Product, Long> projectionRepository =
+                mock(PagingAndSortingRepository.class, withSettings().extraInterfaces(ProjectionRepository.class));
+        Set<String> properties = new HashSet<>(Arrays.asList("id", "name"));
+        Product p = Instancio.create(Product.class);
+        when(((ProjectionRepository<Product, Long>) projectionRepository).findProjectedById(p.getId(), properties))
+                .thenReturn(Optional.of(p));
+
+        CrudService<Product, Long> projectionService = new SimpleCrudService<>(projectionRepository, beforeSave, updateSetter);
+
+        assertThat(projectionService.get(IdChain.empty(), p.getId(), properties)).isSameAs(p);
+        verify(projectionRepository, never()).findById(any());
+    }
+
+    @Test
+    void shouldReadWholeWithoutProjectionRepository() {
+        Product p = Instancio.create(Product.class);
+        when(repository.findById(p.getId())).thenReturn(Optional.of(p));
+
+        assertThat(service.get(IdChain.empty(), p.getId(), Collections.singleton("name"))).isSameAs(p);
+    }
 }
@@ -10,6 +10,7 @@ import com.lassis.springframework.crud.fake.Clz3;
 import com.lassis.springframework.crud.fake.Clz5;
 import com.lassis.springframework.crud.fake.Clz6;
 import com.lassis.springframework.crud.pojo.DtoType;
+import com.lassis.springframework.crud.pojo.PaginationType;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.io.ClassPathResource;
 
@@ -37,6 +38,8 @@ class EndpointsUtilTest {
         assertThat(endpoint.getPath()).isEqualTo("/products");
         assertThat(endpoint.getEntityClass()).isEqualTo(Clz1.class);
         assertThat(endpoint.getPageSize()).isEqualTo(25);
+        assertThat(endpoint.getPagination()).isEqualTo(PaginationType.OFFSET);
+        assertThat(endpoint.getRefreshAfterSave()).isFalse();
         assertThat(endpoint.getMethods()).containsExactlyInAnyOrder(DELETE, GET, PUT, POST);
         assertThat(endpoint.getDtoClass(DtoType.GET)).isEqualTo(Clz2_1.class);
         assertThat(endpoint.getDtoClass(DtoType.POST)).isEqualTo(Clz2_2.class);
@@ -69,6 +72,7 @@ class EndpointsUtilTest {
         assertThat(sub.getPath()).isEqualTo("/details");
         assertThat(sub.getEntityClass()).isEqualTo(Clz3.class);
         assertThat(sub.getPageSize()).isEqualTo(10);
+        assertThat(sub.getPagination()).isEqualTo(PaginationType.KEYSET);
         assertThat(sub.getMethods()).containsExactlyInAnyOrder(GET);
     }
 